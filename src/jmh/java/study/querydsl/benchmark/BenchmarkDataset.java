@@ -0,0 +1,73 @@
+package study.querydsl.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.QuerydslApplication;
+import study.querydsl.loader.BulkLoadProperties;
+import study.querydsl.loader.MemberBulkLoader;
+
+/**
+ * 벤치마크용 인메모리 H2 데이터셋
+ * 애플리케이션 설정(엔티티 매핑, 하이버네이트 설정)을 그대로 쓰기 위해 스프링 컨텍스트를 웹 없이 띄운다.
+ * rows : 회원 수 (jmh -p rows=... 또는 -PjmhRows=...)
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDataset {
+
+    public static final int TEAM_COUNT = 10;
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory emf;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("bench")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.properties.hibernate.use_sql_comments=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + BATCH_SIZE,
+                        "decorator.datasource.enabled=false", // p6spy 로깅 비용 제외
+                        "logging.level.org.hibernate.SQL=warn"
+                )
+                .run();
+        emf = context.getBean(EntityManagerFactory.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public EntityManager createEntityManager() {
+        return emf.createEntityManager();
+    }
+
+    public ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    /**
+     * MemberBulkLoader(JDBC batch)로 적재 - 회원 i는 username = "member" + i, age = i % 100, team = "team" + (i % TEAM_COUNT)
+     */
+    private void seed() {
+        context.getBean(MemberBulkLoader.class)
+                .load(new BulkLoadProperties(rows, TEAM_COUNT, BATCH_SIZE, 1));
+    }
+}
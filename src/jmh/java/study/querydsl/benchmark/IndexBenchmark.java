@@ -0,0 +1,125 @@
+package study.querydsl.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberSearchQueries;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 검색 조건 16가지 조합별로 인덱스 유무에 따른 검색 성능 비교
+ * ./gradlew jmh -PjmhIncludes=IndexBenchmark -PjmhRows=1000000
+ *
+ * indexes=off면 엔티티에 선언한 인덱스(@Table(indexes))를 지우고 측정한다.
+ * 측정 전에 H2 EXPLAIN 결과를 build/reports/explain/indexes-{on|off}-shape-{n}.txt에 남겨서 어떤 실행 계획이 선택됐는지 기록한다.
+ */
+@State(Scope.Thread)
+public class IndexBenchmark {
+
+    private static final String[] INDEXES = {"idx_member_username", "idx_member_team_age", "idx_member_age", "idx_team_name"};
+
+    @Param({"on", "off"})
+    public String indexes;
+
+    /**
+     * MemberSearchQueries.shapeOf() 값 (비트: 1 username, 2 teamName, 4 ageGoe, 8 ageLoe)
+     */
+    @Param({"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15"})
+    public int shape;
+
+    private EntityManager em;
+    private MemberSearchCondition condition;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDataset dataset) {
+        JdbcTemplate jdbcTemplate = dataset.context().getBean(JdbcTemplate.class);
+        if ("off".equals(indexes)) {
+            for (String index : INDEXES) {
+                jdbcTemplate.execute("drop index if exists " + index);
+            }
+        }
+
+        condition = conditionOf(shape, dataset.rows);
+        writeExplain(jdbcTemplate);
+
+        em = dataset.createEntityManager();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        em.close();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> search() {
+        return MemberSearchQueries.search(em, condition);
+    }
+
+    private static MemberSearchCondition conditionOf(int shape, int rows) {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        if ((shape & MemberSearchQueries.USERNAME) != 0) {
+            condition.setUsername("member" + rows / 2);
+        }
+        if ((shape & MemberSearchQueries.TEAM_NAME) != 0) {
+            condition.setTeamName("team" + (BenchmarkDataset.TEAM_COUNT / 2));
+        }
+        if ((shape & MemberSearchQueries.AGE_GOE) != 0) {
+            condition.setAgeGoe(20);
+        }
+        if ((shape & MemberSearchQueries.AGE_LOE) != 0) {
+            condition.setAgeLoe(30);
+        }
+        return condition;
+    }
+
+    /**
+     * search()가 만드는 SQL과 같은 모양의 SQL로 EXPLAIN
+     */
+    private void writeExplain(JdbcTemplate jdbcTemplate) {
+        List<String> predicates = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (condition.getUsername() != null) {
+            predicates.add("m.username = ?");
+            args.add(condition.getUsername());
+        }
+        if (condition.getTeamName() != null) {
+            predicates.add("t.name = ?");
+            args.add(condition.getTeamName());
+        }
+        if (condition.getAgeGoe() != null) {
+            predicates.add("m.age >= ?");
+            args.add(condition.getAgeGoe());
+        }
+        if (condition.getAgeLoe() != null) {
+            predicates.add("m.age <= ?");
+            args.add(condition.getAgeLoe());
+        }
+
+        String sql = "select m.member_id, m.username, m.age, t.team_id, t.name" +
+                " from member m left join team t on t.team_id = m.team_id" +
+                (predicates.isEmpty() ? "" : " where " + String.join(" and ", predicates));
+        List<String> plan = jdbcTemplate.queryForList("explain " + sql, String.class, args.toArray());
+
+        Path file = Path.of(System.getProperty("explain.dir", "build/reports/explain"), "indexes-" + indexes + "-shape-" + shape + ".txt");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, "-- " + condition + "\n" + String.join("\n", plan) + "\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package study.querydsl.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.PageQueryMode;
+
+/**
+ * searchPageComplex 조회 쿼리 방식 비교 (SINGLE vs DEFERRED_JOIN)
+ * page : 페이지 번호 (깊을수록 offset으로 버리는 row가 많다.)
+ * 카운트는 MemberCountCache에 캐시되므로 첫 호출 이후에는 조회 쿼리 비용만 남는다.
+ * 큰 데이터셋에서 볼 것 (ex. -PjmhRows=1000000 -PjmhIncludes=PagingBenchmark)
+ */
+@State(Scope.Thread)
+public class PagingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"0", "1000", "10000"})
+    public int page;
+
+    /**
+     * age : member 컬럼 정렬, teamName : 조인 컬럼 정렬
+     */
+    @Param({"age", "teamName"})
+    public String sort;
+
+    private MemberRepository memberRepository;
+    private MemberSearchCondition condition;
+    private PageRequest pageRequest;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDataset dataset) {
+        memberRepository = dataset.context().getBean(MemberRepository.class);
+        condition = new MemberSearchCondition();
+        condition.setAgeGoe(10);
+        int lastPage = Math.max(0, (dataset.rows - 1) / PAGE_SIZE);
+        pageRequest = PageRequest.of(Math.min(page, lastPage), PAGE_SIZE, Sort.by(Sort.Order.desc(sort)));
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> single() {
+        return memberRepository.searchPageComplex(condition, pageRequest, PageQueryMode.SINGLE);
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> deferredJoin() {
+        return memberRepository.searchPageComplex(condition, pageRequest, PageQueryMode.DEFERRED_JOIN);
+    }
+}
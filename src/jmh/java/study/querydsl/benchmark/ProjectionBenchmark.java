@@ -0,0 +1,199 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.dto.UserDto;
+import study.querydsl.repository.support.MethodHandleProjections;
+
+import java.util.List;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * DTO 조회 방식별 비용 비교 (QuerydslBasicTest의 findDtoBy... 참고)
+ * 1. Projections.bean (setter)
+ * 2. Projections.fields (필드 직접 접근)
+ * 3. Projections.constructor (생성자)
+ * 4. @QueryProjection
+ * 5. JPQL new 명령어
+ * 6. MethodHandleProjections.bean / fields / constructor (리플렉션 없이 바인딩, 1~3과 비교)
+ */
+@State(Scope.Thread)
+public class ProjectionBenchmark {
+
+    private EntityManager em;
+    private JPAQueryFactory queryFactory;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDataset dataset) {
+        em = dataset.createEntityManager();
+        queryFactory = new JPAQueryFactory(em);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        em.close();
+    }
+
+    // MemberDto
+
+    @Benchmark
+    public List<MemberDto> memberDtoBean() {
+        return queryFactory
+                .select(Projections.bean(MemberDto.class, member.username, member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberDto> memberDtoFields() {
+        return queryFactory
+                .select(Projections.fields(MemberDto.class, member.username, member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberDto> memberDtoConstructor() {
+        return queryFactory
+                .select(Projections.constructor(MemberDto.class, member.username, member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberDto> memberDtoMethodHandleBean() {
+        return queryFactory
+                .select(MethodHandleProjections.bean(MemberDto.class, member.username, member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberDto> memberDtoMethodHandleFields() {
+        return queryFactory
+                .select(MethodHandleProjections.fields(MemberDto.class, member.username, member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberDto> memberDtoMethodHandleConstructor() {
+        return queryFactory
+                .select(MethodHandleProjections.constructor(MemberDto.class, member.username, member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberDto> memberDtoQueryProjection() {
+        return queryFactory
+                .select(new QMemberDto(member.username, member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberDto> memberDtoJpqlNew() {
+        return em.createQuery("select new study.querydsl.dto.MemberDto(m.username, m.age) from Member m", MemberDto.class)
+                .getResultList();
+    }
+
+    // UserDto (필드명이 다르므로 as 별칭 필요)
+
+    @Benchmark
+    public List<UserDto> userDtoBean() {
+        return queryFactory
+                .select(Projections.bean(UserDto.class, member.username.as("name"), member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<UserDto> userDtoFields() {
+        return queryFactory
+                .select(Projections.fields(UserDto.class, member.username.as("name"), member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<UserDto> userDtoConstructor() {
+        return queryFactory
+                .select(Projections.constructor(UserDto.class, member.username, member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<UserDto> userDtoMethodHandleBean() {
+        return queryFactory
+                .select(MethodHandleProjections.bean(UserDto.class, member.username.as("name"), member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<UserDto> userDtoMethodHandleFields() {
+        return queryFactory
+                .select(MethodHandleProjections.fields(UserDto.class, member.username.as("name"), member.age))
+                .from(member)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<UserDto> userDtoJpqlNew() {
+        return em.createQuery("select new study.querydsl.dto.UserDto(m.username, m.age) from Member m", UserDto.class)
+                .getResultList();
+    }
+
+    // MemberTeamDto (조인)
+
+    @Benchmark
+    public List<MemberTeamDto> memberTeamDtoConstructor() {
+        return queryFactory
+                .select(Projections.constructor(MemberTeamDto.class,
+                        member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> memberTeamDtoMethodHandleConstructor() {
+        return queryFactory
+                .select(MethodHandleProjections.constructor(MemberTeamDto.class,
+                        member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> memberTeamDtoQueryProjection() {
+        return queryFactory
+                .select(new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> memberTeamDtoJpqlNew() {
+        return em.createQuery("select new study.querydsl.dto.MemberTeamDto(m.id, m.username, m.age, t.id, t.name)" +
+                        " from Member m left join m.team t", MemberTeamDto.class)
+                .getResultList();
+    }
+}
@@ -0,0 +1,97 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.repository.MemberSearchQueries;
+
+import java.util.List;
+
+import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * search(MemberSearchCondition) 요청당 비용 비교
+ * 1. JPAQueryFactory : 요청마다 표현식 트리 생성 + JPQL 직렬화
+ * 2. MemberSearchQueries : 미리 만든 JPQL 선택 + 파라미터 바인딩
+ * DB 비용이 차이를 가리지 않도록 결과가 한 건인 조건(username)을 기본으로 쓴다. gc.alloc.rate.norm을 같이 볼 것.
+ */
+@State(Scope.Thread)
+public class SearchQueryBenchmark {
+
+    /**
+     * username : 한 건 조회, all : 조건 4개 모두 사용
+     */
+    @Param({"username", "all"})
+    public String conditions;
+
+    private EntityManager em;
+    private JPAQueryFactory queryFactory;
+    private MemberSearchCondition condition;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDataset dataset) {
+        em = dataset.createEntityManager();
+        queryFactory = new JPAQueryFactory(em);
+
+        condition = new MemberSearchCondition();
+        condition.setUsername("member1");
+        if ("all".equals(conditions)) {
+            condition.setTeamName("team1");
+            condition.setAgeGoe(0);
+            condition.setAgeLoe(100);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        em.close();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> queryFactory() {
+        return queryFactory
+                .select(new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                )
+                .fetch();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> precompiled() {
+        return MemberSearchQueries.search(em, condition);
+    }
+
+    private BooleanExpression usernameEq(String username) {
+        return hasText(username) ? member.username.eq(username) : null;
+    }
+
+    private BooleanExpression teamNameEq(String teamName) {
+        return hasText(teamName) ? team.name.eq(teamName) : null;
+    }
+
+    private BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe != null ? member.age.goe(ageGoe) : null;
+    }
+
+    private BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe != null ? member.age.loe(ageLoe) : null;
+    }
+}
@@ -0,0 +1,74 @@
+package study.querydsl.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.serializer.MemberJsonWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 응답 직렬화 비용 비교 (DB 없이 직렬화만)
+ * 1. Jackson ObjectWriter (스프링 MVC 기본 경로와 같은 설정)
+ * 2. MemberJsonWriter
+ * @OperationsPerInvocation(ROWS)이므로 점수와 gc.alloc.rate.norm은 row 한 건 기준이다.
+ */
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private List<MemberTeamDto> memberTeams;
+    private List<MemberDto> members;
+    private ObjectWriter jackson;
+    private final OutputStream out = OutputStream.nullOutputStream(); // 소켓 쓰기 비용 제외
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        memberTeams = IntStream.range(0, ROWS)
+                .mapToObj(i -> new MemberTeamDto((long) i, "member" + i, i % 100, (long) (i % BenchmarkDataset.TEAM_COUNT), "team" + (i % BenchmarkDataset.TEAM_COUNT)))
+                .toList();
+        members = IntStream.range(0, ROWS)
+                .mapToObj(i -> new MemberDto("member" + i, i % 100))
+                .toList();
+        jackson = new ObjectMapper().writer();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void memberTeamDtoJackson() throws IOException {
+        jackson.writeValue(out, memberTeams);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void memberTeamDtoWriter() throws IOException {
+        MemberJsonWriter writer = new MemberJsonWriter(out);
+        writer.writeMemberTeamArray(memberTeams);
+        writer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void memberDtoJackson() throws IOException {
+        jackson.writeValue(out, members);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void memberDtoWriter() throws IOException {
+        MemberJsonWriter writer = new MemberJsonWriter(out);
+        writer.writeMemberArray(members);
+        writer.flush();
+    }
+}
@@ -1,31 +1,134 @@
 package study.querydsl.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import study.querydsl.dto.CursorPage;
 import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchKey;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.limit.ConcurrencyLimited;
+import study.querydsl.repository.Consistency;
 import study.querydsl.repository.MemberJpaRepository;
 import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.PageQueryMode;
+import study.querydsl.repository.cache.DataVersions;
+import study.querydsl.serializer.MemberJsonWriter;
+import study.querydsl.snapshot.MemberSnapshotIndex;
+import study.querydsl.snapshot.SnapshotProperties;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import static org.springframework.util.StringUtils.hasText;
+
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    private static final int MAX_SUGGEST_SIZE = 100;
+    private static final String NDJSON = "application/x-ndjson";
+
     private final MemberJpaRepository memberJpaRepository;
     private final MemberRepository memberRepository;
+    private final DataVersions dataVersions;
+    private final MemberSnapshotIndex snapshotIndex;
+    private final SnapshotProperties snapshotProperties;
 
+    /**
+     * 결과 직렬화는 MemberJsonHttpMessageConverter가 Jackson 대신 처리한다. (응답 JSON은 같음)
+     * 스냅샷(querydsl.snapshot.enabled)을 켜면 기본으로 메모리 스냅샷에서 조회한다. (consistency=STRONG이면 DB)
+     * If-None-Match가 현재 ETag와 같으면 조회 없이 304
+     */
+    @ConcurrencyLimited("search")
     @GetMapping("/v1/members")
-    public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
-        return memberJpaRepository.search(condition);
+    public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition,
+                                              @RequestParam(required = false) Consistency consistency,
+                                              WebRequest webRequest) {
+        Consistency resolved = consistency != null ? consistency
+                : snapshotProperties.enabled() ? Consistency.SNAPSHOT : Consistency.STRONG;
+        boolean snapshot = resolved == Consistency.SNAPSHOT;
+        if (notModified(webRequest, "v1", MemberSearchKey.of(condition), resolved,
+                snapshot ? snapshotIndex.generation() : null)) {
+            return null; // 304 (응답 본문 없음)
+        }
+        return snapshot ? memberRepository.search(condition, Consistency.SNAPSHOT) : memberJpaRepository.search(condition);
+    }
+
+    /**
+     * 검색 결과 스트리밍 (NDJSON, 한 줄에 한 건)
+     * 결과를 List로 모으지 않고 DB에서 읽는 대로 응답에 바로 쓴다.
+     */
+    @GetMapping(value = "/v1/members/stream", produces = NDJSON)
+    public void searchMemberStream(MemberSearchCondition condition, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        MemberJsonWriter writer = new MemberJsonWriter(response.getOutputStream()); // 건마다 flush 하지 않고 버퍼가 찰 때 내보낸다.
+        memberJpaRepository.searchStream(condition, dto -> {
+            try {
+                writer.writeMemberTeam(dto);
+                writer.writeByte('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    /**
+     * 회원명 자동완성 (usernamePrefix 또는 usernameContains)
+     */
+    @GetMapping("/v1/members/suggest")
+    public List<MemberTeamDto> suggestMember(MemberSearchCondition condition,
+                                             @RequestParam(defaultValue = "10") int size) {
+        if (!hasText(condition.getUsernamePrefix()) && !hasText(condition.getUsernameContains())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "usernamePrefix 또는 usernameContains가 필요합니다.");
+        }
+        return memberRepository.searchByUsernameFragment(condition, Math.max(1, Math.min(size, MAX_SUGGEST_SIZE)));
     }
 
+    @ConcurrencyLimited("page") // 카운트 쿼리까지 실행하므로 v1과 한도를 따로 둔다.
     @GetMapping("/v2/members")
-    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable) {
-        return memberRepository.searchPageComplex(condition, pageable);
+    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable,
+                                              @RequestParam(defaultValue = "SINGLE") PageQueryMode mode,
+                                              WebRequest webRequest) {
+        if (notModified(webRequest, "v2", MemberSearchKey.of(condition), pageable, mode)) {
+            return null; // 304 (응답 본문 없음)
+        }
+        return memberRepository.searchPageComplex(condition, pageable, mode);
+    }
+
+    /**
+     * Keyset 페이징 (깊은 페이지에서도 일정한 응답 속도)
+     */
+    @GetMapping("/v3/members")
+    public CursorPage<MemberTeamDto> searchMemberV3(MemberSearchCondition condition,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "20") int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Slice<MemberTeamDto> slice = memberRepository.searchByCursor(condition, MemberCursor.decode(cursor), pageSize);
+
+        List<MemberTeamDto> content = slice.getContent();
+        String nextCursor = slice.hasNext() ? MemberCursor.encode(content.get(content.size() - 1).getMemberId()) : null;
+        return new CursorPage<>(content, nextCursor, slice.hasNext());
+    }
+
+    /**
+     * 데이터 버전 + 조건으로 ETag를 만들어 응답 헤더에 넣고, 요청의 If-None-Match와 같으면 304로 끝낸다.
+     */
+    private boolean notModified(WebRequest webRequest, Object... keys) {
+        return dataVersions.isEtagEnabled() && webRequest.checkNotModified(dataVersions.etag(keys));
     }
 }
@@ -0,0 +1,42 @@
+package study.querydsl.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.export.ExportFormat;
+import study.querydsl.export.MemberExportService;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+
+@RestController
+@RequiredArgsConstructor
+public class MemberExportController {
+
+    private static final String GZIP = "application/gzip";
+
+    private final MemberExportService memberExportService;
+
+    /**
+     * 회원 전체(또는 검색 조건) 다운로드
+     * ex) /v1/members/export?format=BINARY&gzip=true&teamName=teamA
+     */
+    @GetMapping("/v1/members/export")
+    public void export(MemberSearchCondition condition,
+                       @RequestParam(defaultValue = "CSV") ExportFormat format,
+                       @RequestParam(defaultValue = "false") boolean gzip,
+                       HttpServletResponse response) throws IOException {
+        String filename = "members." + format.extension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? GZIP : format.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+
+        memberExportService.export(condition, format, gzip, Channels.newChannel(response.getOutputStream()));
+        response.flushBuffer();
+    }
+}
@@ -0,0 +1,54 @@
+package study.querydsl.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 레플리카로, 나머지는 프라이머리로 보낸다.
+ * 살아있는 레플리카가 없거나 레플리카 커넥션 획득에 실패하면 프라이머리를 사용한다.
+ *
+ * 트랜잭션의 readOnly 여부는 트랜잭션이 시작된 뒤에야 알 수 있으므로,
+ * 실제 커넥션을 첫 쿼리 시점까지 미루는 LazyConnectionDataSourceProxy로 감싸서 사용해야 한다.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final ReplicaPool replicaPool;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, ReplicaPool replicaPool) {
+        this.primary = primary;
+        this.replicaPool = replicaPool;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReplicaPool.Replica replica = replicaPool.select();
+            if (replica != null) {
+                try {
+                    return replica.getConnection();
+                } catch (SQLException e) {
+                    replica.markDown(e);
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public void close() throws Exception {
+        replicaPool.close();
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package study.querydsl.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 레플리카 묶음
+ * 살아있는 레플리카 중에서 하나를 고르고, 커넥션 획득에 실패한 레플리카는 다음 상태 확인 때까지 제외한다.
+ */
+@Slf4j
+public class ReplicaPool implements AutoCloseable {
+
+    private final List<Replica> replicas;
+    private final RoutingDataSourceProperties.Balance balance;
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    public ReplicaPool(List<DataSource> dataSources, RoutingDataSourceProperties.Balance balance, Duration healthCheckInterval) {
+        this.replicas = dataSources.stream().map(Replica::new).toList();
+        this.balance = balance;
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return 살아있는 레플리카가 없으면 null
+     */
+    Replica select() {
+        List<Replica> healthy = replicas.stream().filter(Replica::isHealthy).toList();
+        if (healthy.isEmpty()) {
+            return null;
+        }
+        if (balance == RoutingDataSourceProperties.Balance.LEAST_LOADED) {
+            Replica least = healthy.get(0);
+            for (Replica replica : healthy) {
+                if (replica.activeConnections() < least.activeConnections()) {
+                    least = replica;
+                }
+            }
+            return least;
+        }
+        return healthy.get(Math.floorMod(sequence.getAndIncrement(), healthy.size()));
+    }
+
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                boolean valid = connection.isValid(1);
+                if (valid && !replica.healthy) {
+                    log.info("replica is back: {}", replica);
+                }
+                replica.healthy = valid;
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("failed to close replica {}", replica, e);
+                }
+            }
+        }
+    }
+
+    static class Replica {
+
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        Connection getConnection() throws SQLException {
+            return dataSource.getConnection();
+        }
+
+        boolean isHealthy() {
+            return healthy;
+        }
+
+        void markDown(SQLException e) {
+            if (healthy) {
+                log.warn("replica is down, routing reads to primary: {}", this, e);
+            }
+            healthy = false;
+        }
+
+        int activeConnections() {
+            if (dataSource instanceof HikariDataSource hikari) {
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                return pool != null ? pool.getActiveConnections() : 0;
+            }
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return dataSource instanceof HikariDataSource hikari ? hikari.getJdbcUrl() : dataSource.toString();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package study.querydsl.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * querydsl.datasource.routing.enabled=true일 때 DataSource를 직접 등록한다. (스프링 부트 기본 DataSource 대신)
+ * 프라이머리는 spring.datasource, 레플리카는 querydsl.datasource.routing.replicas
+ */
+@Configuration
+@ConditionalOnProperty(name = "querydsl.datasource.routing.enabled", havingValue = "true")
+public class RoutingDataSourceConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, RoutingDataSourceProperties properties) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+
+        List<DataSource> replicas = properties.replicas().stream()
+                .map(replica -> (DataSource) dataSourceProperties.initializeDataSourceBuilder()
+                        .type(HikariDataSource.class)
+                        .url(replica.url())
+                        .username(replica.username())
+                        .password(replica.password())
+                        .build())
+                .toList();
+        ReplicaPool replicaPool = new ReplicaPool(replicas, properties.balance(), properties.healthCheckInterval());
+
+        return new RoutingDataSource(new ReadReplicaRoutingDataSource(primary, replicaPool));
+    }
+
+    /**
+     * 종료 시 프라이머리, 레플리카 커넥션 풀을 닫기 위해 close()를 추가한 LazyConnectionDataSourceProxy
+     */
+    static class RoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        RoutingDataSource(ReadReplicaRoutingDataSource target) {
+            super(target);
+        }
+
+        @Override
+        public void close() throws Exception {
+            ((ReadReplicaRoutingDataSource) obtainTargetDataSource()).close();
+        }
+    }
+}
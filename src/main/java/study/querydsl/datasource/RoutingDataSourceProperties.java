@@ -0,0 +1,30 @@
+package study.querydsl.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 읽기 전용 트랜잭션을 레플리카로 보내는 설정
+ *
+ * @param balance             레플리카 선택 방식
+ * @param healthCheckInterval 레플리카 상태 확인 주기 (내려간 레플리카가 살아났는지도 이 주기로 확인)
+ */
+@ConfigurationProperties("querydsl.datasource.routing")
+public record RoutingDataSourceProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("round-robin") Balance balance,
+        @DefaultValue("10s") Duration healthCheckInterval,
+        @DefaultValue List<Replica> replicas
+) {
+
+    public enum Balance {
+        ROUND_ROBIN, // 차례대로
+        LEAST_LOADED // 사용 중인 커넥션이 가장 적은 레플리카
+    }
+
+    public record Replica(String url, String username, String password) {
+    }
+}
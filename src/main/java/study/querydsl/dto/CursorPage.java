@@ -0,0 +1,19 @@
+package study.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Keyset 페이징 응답
+ * nextCursor는 다음 페이지 요청 시 그대로 넘겨주면 된다. (마지막 페이지면 null)
+ */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+}
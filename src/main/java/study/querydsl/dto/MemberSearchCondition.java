@@ -10,4 +10,8 @@ public class MemberSearchCondition {
     private String teamName;
     private Integer ageGoe;
     private Integer ageLoe;
+
+    // 회원명 앞부분/부분 일치 (자동완성, searchByUsernameFragment에서만 사용)
+    private String usernamePrefix;
+    private String usernameContains;
 }
@@ -0,0 +1,19 @@
+package study.querydsl.dto;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * 캐시 키로 쓰기 위해 정규화한 검색 조건
+ * where 파라미터(usernameEq, teamNameEq)가 hasText()로 판단하므로 null과 빈 문자열은 같은 쿼리가 된다. 키도 똑같이 null로 맞춘다.
+ */
+public record MemberSearchKey(String username, String teamName, Integer ageGoe, Integer ageLoe) {
+
+    public static MemberSearchKey of(MemberSearchCondition condition) {
+        return new MemberSearchKey(
+                hasText(condition.getUsername()) ? condition.getUsername() : null,
+                hasText(condition.getTeamName()) ? condition.getTeamName() : null,
+                condition.getAgeGoe(),
+                condition.getAgeLoe()
+        );
+    }
+}
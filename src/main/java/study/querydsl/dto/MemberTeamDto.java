@@ -4,6 +4,8 @@ import com.querydsl.core.annotations.QueryProjection;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
+import java.util.List;
+
 @Data
 public class MemberTeamDto {
 
@@ -21,4 +23,13 @@ public class MemberTeamDto {
         this.teamId = teamId;
         this.teamName = teamName;
     }
+
+    /**
+     * 같은 결과를 여러 호출에 나눠 줄 때(캐시, SingleFlight) 호출마다 복사본을 준다. (반환하는 List는 수정 불가)
+     */
+    public static List<MemberTeamDto> copyOf(List<MemberTeamDto> members) {
+        return members.stream()
+                .map(dto -> new MemberTeamDto(dto.memberId, dto.username, dto.age, dto.teamId, dto.teamName))
+                .toList();
+    }
 }
@@ -0,0 +1,20 @@
+package study.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 팀별 회원 나이 통계
+ */
+@Data
+@AllArgsConstructor
+public class TeamStatsDto {
+
+    private Long teamId;
+    private String teamName;
+    private long count;
+    private long sum;
+    private Double avg;
+    private Integer max;
+    private Integer min;
+}
@@ -0,0 +1,44 @@
+package study.querydsl.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 청크 단위 벌크 작업의 진행 상황
+ * 청크 하나를 처리한 트랜잭션 안에서 같이 갱신되므로, 작업이 중간에 실패해도 마지막으로 커밋된 청크 다음부터 다시 시작할 수 있다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class BulkJobCheckpoint {
+
+    @Id
+    private String jobName;
+    private long lastId; // 여기까지(포함) 처리 완료
+    private long processed; // 지금까지 변경된 row 수
+    private boolean completed;
+    private LocalDateTime updatedAt;
+
+    public BulkJobCheckpoint(String jobName) {
+        this.jobName = jobName;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void advance(long lastId, long affected) {
+        this.lastId = lastId;
+        this.processed += affected;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void complete() {
+        this.completed = true;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
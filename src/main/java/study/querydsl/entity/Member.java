@@ -2,16 +2,32 @@ package study.querydsl.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import study.querydsl.event.EntityChangeListener;
+import study.querydsl.stats.AgeSample;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_member_username", columnList = "username"), // username = ?
+        @Index(name = "idx_member_team_age", columnList = "team_id, age"), // 팀 조인 + 팀 안에서 age 범위
+        @Index(name = "idx_member_age", columnList = "age") // 팀 조건 없이 age 범위만 있을 때
+})
+@EntityListeners({EntityChangeListener.class, TeamStatsListener.class})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "member")
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
 public class Member {
 
+    public static final String ID_SEQUENCE = "member_seq";
+    public static final int ID_ALLOCATION_SIZE = 50; // pooled optimizer - 시퀀스 한 번 조회로 50개 id 확보
+
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "member_id")
     private Long id;
     private String username;
@@ -21,6 +37,11 @@ public class Member {
     @JoinColumn(name = "team_id")
     private Team team;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private AgeSample flushedSample; // 마지막으로 DB와 맞춰진 (팀, 나이) - 팀 통계 증분 갱신용 (TeamStatsListener)
+
     public Member(String username) {
         this(username, 0);
     }
@@ -37,6 +58,14 @@ public class Member {
         }
     }
 
+    AgeSample flushedSample() {
+        return flushedSample;
+    }
+
+    void flushedSample(AgeSample flushedSample) {
+        this.flushedSample = flushedSample;
+    }
+
     public void changeTeam(Team team) {
         this.team = team;
         team.getMembers().add(this);
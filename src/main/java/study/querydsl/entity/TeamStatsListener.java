@@ -0,0 +1,53 @@
+package study.querydsl.entity;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import study.querydsl.stats.AgeSample;
+import study.querydsl.stats.MemberAgeChangedEvent;
+
+import java.util.Objects;
+
+/**
+ * Member 엔티티 리스너 -> 팀 통계 증분 이벤트
+ * @PostUpdate는 변경 후 값만 알 수 있으므로, 조회/저장/수정 시점의 값을 Member.flushedSample에 기억해 두고 차이를 계산한다.
+ * changeTeam()도 team_id 변경이므로 @PostUpdate로 들어온다.
+ * flushedSample은 엔티티 내부 상태라 package-private 접근자로만 다루도록 entity 패키지에 둔다.
+ */
+public class TeamStatsListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public TeamStatsListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostLoad
+    public void postLoad(Member member) {
+        member.flushedSample(AgeSample.of(member));
+    }
+
+    @PostPersist
+    public void postPersist(Member member) {
+        AgeSample after = AgeSample.of(member);
+        member.flushedSample(after);
+        publisher.publishEvent(new MemberAgeChangedEvent(null, after));
+    }
+
+    @PostUpdate
+    public void postUpdate(Member member) {
+        AgeSample before = member.flushedSample();
+        AgeSample after = AgeSample.of(member);
+        member.flushedSample(after);
+        if (!Objects.equals(before, after)) { // username만 바뀐 경우는 무시
+            publisher.publishEvent(new MemberAgeChangedEvent(before, after));
+        }
+    }
+
+    @PostRemove
+    public void postRemove(Member member) {
+        publisher.publishEvent(new MemberAgeChangedEvent(member.flushedSample(), null));
+    }
+}
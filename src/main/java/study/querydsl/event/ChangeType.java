@@ -0,0 +1,6 @@
+package study.querydsl.event;
+
+public enum ChangeType {
+    PERSIST, UPDATE, REMOVE,
+    BULK // 벌크 연산(update, delete) - 영속성 컨텍스트를 거치지 않으므로 어떤 엔티티가 바뀌었는지 알 수 없다.
+}
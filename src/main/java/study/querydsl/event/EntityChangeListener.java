@@ -0,0 +1,38 @@
+package study.querydsl.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA 엔티티 리스너 -> 스프링 이벤트 변환
+ * 스프링 부트는 하이버네이트에 SpringBeanContainer를 등록하므로 엔티티 리스너도 생성자 주입을 받을 수 있다.
+ */
+public class EntityChangeListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public EntityChangeListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostPersist
+    public void postPersist(Object entity) {
+        publish(entity, ChangeType.PERSIST);
+    }
+
+    @PostUpdate
+    public void postUpdate(Object entity) {
+        publish(entity, ChangeType.UPDATE);
+    }
+
+    @PostRemove
+    public void postRemove(Object entity) {
+        publish(entity, ChangeType.REMOVE);
+    }
+
+    private void publish(Object entity, ChangeType changeType) {
+        publisher.publishEvent(new EntityChangedEvent(entity.getClass(), entity, changeType));
+    }
+}
@@ -0,0 +1,22 @@
+package study.querydsl.event;
+
+/**
+ * 엔티티 변경 이벤트
+ * 캐시 무효화처럼 "데이터가 바뀌었다"는 사실만 알면 되는 곳에서 구독한다.
+ * 벌크 연산은 엔티티 리스너를 거치지 않으므로 리포지토리에서 직접 발행해야 한다. (entity = null)
+ */
+public record EntityChangedEvent(Class<?> entityType, Object entity, ChangeType changeType) {
+
+    public static EntityChangedEvent bulk(Class<?> entityType) {
+        return new EntityChangedEvent(entityType, null, ChangeType.BULK);
+    }
+
+    public boolean isAbout(Class<?>... types) {
+        for (Class<?> type : types) {
+            if (type.isAssignableFrom(entityType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package study.querydsl.export;
+
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 길이 접두 바이너리 (big-endian)
+ * 헤더 : "MBRX" + int32 버전(1)
+ * row  : int32 row 길이(이 값 제외) + int64 member_id + int32 age + int64 team_id(-1 = null)
+ *        + username + team_name (문자열 = int32 UTF-8 바이트 길이(-1 = null) + 바이트)
+ * row 길이를 먼저 쓰므로 읽는 쪽은 필요 없는 row를 통째로 건너뛸 수 있다.
+ */
+class BinaryMemberExportWriter extends MemberExportWriter {
+
+    static final byte[] MAGIC = {'M', 'B', 'R', 'X'};
+    static final int VERSION = 1;
+    private static final int FIXED_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES * 2;
+
+    BinaryMemberExportWriter(WritableByteChannel channel) {
+        super(channel);
+    }
+
+    @Override
+    void writeHeader() throws IOException {
+        ensure(MAGIC.length + Integer.BYTES);
+        buffer.put(MAGIC);
+        buffer.putInt(VERSION);
+    }
+
+    @Override
+    void write(MemberTeamDto row) throws IOException {
+        byte[] username = bytesOf(row.getUsername());
+        byte[] teamName = bytesOf(row.getTeamName());
+        int length = FIXED_BYTES + lengthOf(username) + lengthOf(teamName);
+
+        ensure(Integer.BYTES + FIXED_BYTES);
+        buffer.putInt(length);
+        buffer.putLong(row.getMemberId());
+        buffer.putInt(row.getAge());
+        buffer.putLong(row.getTeamId() != null ? row.getTeamId() : -1);
+        writeString(username);
+        writeString(teamName);
+    }
+
+    private void writeString(byte[] bytes) throws IOException {
+        ensure(Integer.BYTES);
+        if (bytes == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(bytes.length);
+        put(bytes);
+    }
+
+    private static byte[] bytesOf(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int lengthOf(byte[] bytes) {
+        return bytes != null ? bytes.length : 0;
+    }
+}
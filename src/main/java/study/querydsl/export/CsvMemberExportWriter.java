@@ -0,0 +1,92 @@
+package study.querydsl.export;
+
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 4180 CSV (UTF-8, CRLF)
+ * member_id,username,age,team_id,team_name - null은 빈 칸, 쉼표/따옴표/줄바꿈이 있는 값만 따옴표로 감싼다.
+ */
+class CsvMemberExportWriter extends MemberExportWriter {
+
+    private static final byte[] HEADER = "member_id,username,age,team_id,team_name\r\n".getBytes(StandardCharsets.UTF_8);
+    private static final int MAX_NUMBER_BYTES = 20;
+
+    CsvMemberExportWriter(WritableByteChannel channel) {
+        super(channel);
+    }
+
+    @Override
+    void writeHeader() throws IOException {
+        put(HEADER);
+    }
+
+    @Override
+    void write(MemberTeamDto row) throws IOException {
+        writeNumber(row.getMemberId());
+        putByte(',');
+        writeText(row.getUsername());
+        putByte(',');
+        writeNumber((long) row.getAge());
+        putByte(',');
+        writeNumber(row.getTeamId());
+        putByte(',');
+        writeText(row.getTeamName());
+        putByte('\r');
+        putByte('\n');
+    }
+
+    private void writeNumber(Long value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        ensure(MAX_NUMBER_BYTES);
+        long v = value;
+        if (v < 0) {
+            buffer.put((byte) '-');
+            if (v == Long.MIN_VALUE) {
+                put(Long.toString(v).substring(1).getBytes(StandardCharsets.US_ASCII));
+                return;
+            }
+            v = -v;
+        }
+        long divisor = 1;
+        while (v / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + v / divisor % 10));
+        }
+    }
+
+    private void writeText(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuote(value)) {
+            put(value.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        putByte('"');
+        put(value.replace("\"", "\"\"").getBytes(StandardCharsets.UTF_8));
+        putByte('"');
+    }
+
+    private static boolean needsQuote(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void putByte(char c) throws IOException {
+        ensure(1);
+        buffer.put((byte) c);
+    }
+}
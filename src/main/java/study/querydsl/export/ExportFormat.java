@@ -0,0 +1,37 @@
+package study.querydsl.export;
+
+import java.nio.channels.WritableByteChannel;
+
+public enum ExportFormat {
+
+    CSV("text/csv;charset=UTF-8", "csv") {
+        @Override
+        MemberExportWriter writer(WritableByteChannel channel) {
+            return new CsvMemberExportWriter(channel);
+        }
+    },
+    BINARY("application/octet-stream", "bin") {
+        @Override
+        MemberExportWriter writer(WritableByteChannel channel) {
+            return new BinaryMemberExportWriter(channel);
+        }
+    };
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    abstract MemberExportWriter writer(WritableByteChannel channel);
+}
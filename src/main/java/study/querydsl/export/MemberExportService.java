@@ -0,0 +1,95 @@
+package study.querydsl.export;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.repository.MemberJpaRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * 회원 대량 export (CSV, 바이너리)
+ * MemberJpaRepository.searchStream으로 큰 fetchSize 단위로 읽으면서, 고정 크기 버퍼에 인코딩해 채널에 바로 쓴다.
+ * DTO -> 문자열 -> Writer를 거치지 않고 바이트로 바로 인코딩하므로 row 수가 많아도 메모리와 GC가 일정하다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberExportService {
+
+    private static final int EXPORT_FETCH_SIZE = 10_000;
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final MemberJpaRepository memberJpaRepository;
+
+    /**
+     * 채널은 닫지 않는다. (응답 스트림 등은 호출한 쪽이 관리)
+     *
+     * @return export한 row 수
+     */
+    public long export(MemberSearchCondition condition, ExportFormat format, boolean gzip,
+                       WritableByteChannel channel) throws IOException {
+        if (!gzip) {
+            return write(condition, format, channel);
+        }
+        // close()가 Deflater 네이티브 메모리를 바로 반납한다. (원래 채널은 nonClosing이라 닫히지 않음)
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(nonClosing(channel), GZIP_BUFFER_SIZE)) {
+            return write(condition, format, Channels.newChannel(gzipStream));
+        }
+    }
+
+    public long exportToFile(MemberSearchCondition condition, ExportFormat format, boolean gzip,
+                             Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            return export(condition, format, gzip, channel);
+        }
+    }
+
+    private long write(MemberSearchCondition condition, ExportFormat format,
+                       WritableByteChannel channel) throws IOException {
+        MemberExportWriter writer = format.writer(channel);
+        writer.writeHeader();
+        long count;
+        try {
+            count = memberJpaRepository.searchStream(condition, EXPORT_FETCH_SIZE, row -> {
+                try {
+                    writer.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+        return count;
+    }
+
+    /**
+     * GZIPOutputStream을 닫아도 원래 채널은 열어둔다.
+     */
+    private static OutputStream nonClosing(WritableByteChannel channel) {
+        OutputStream out = Channels.newOutputStream(channel);
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+        };
+    }
+}
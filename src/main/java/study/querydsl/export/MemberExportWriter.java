@@ -0,0 +1,65 @@
+package study.querydsl.export;
+
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * 고정 크기 버퍼에 row를 인코딩하고, 버퍼가 차면 채널로 내보낸다. (row 수와 상관없이 메모리 일정)
+ */
+abstract class MemberExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    protected final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE); // 응답 스트림 채널은 힙 배열로 복사해서 쓰므로 direct 버퍼 이점이 없다.
+
+    protected MemberExportWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    abstract void writeHeader() throws IOException;
+
+    abstract void write(MemberTeamDto row) throws IOException;
+
+    /**
+     * 남은 버퍼를 내보낸다. (채널은 닫지 않음)
+     */
+    void finish() throws IOException {
+        drain();
+    }
+
+    /**
+     * bytes만큼 버퍼 공간을 확보한다.
+     */
+    protected void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    /**
+     * 버퍼보다 큰 값도 쓸 수 있도록 나눠서 넣는다.
+     */
+    protected void put(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,89 @@
+package study.querydsl.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD 동시 처리 한도
+ * 처리 중인 요청 수가 한도에 닿으면 바로 거절한다. (대기열 없음)
+ * - 응답이 latencyThreshold 안에 끝나고 한도를 절반 이상 쓰고 있었으면 한도 +1 (Additive Increase)
+ * - 응답이 느리거나 실패하면 한도 x backoffRatio (Multiplicative Decrease)
+ *   latencyThreshold 동안 한 번만 줄인다. 처리 중이던 요청들이 한꺼번에 느리게 끝나도 한 번의 지연으로 보고 minLimit까지 떨어지지 않게 한다.
+ * DB가 느려지면 한도가 빠르게 줄어서 톰캣 스레드와 커넥션 풀이 다 차기 전에 초과 요청을 503으로 돌려보낸다.
+ *
+ * http.server.concurrency.limit / inflight / rejected {limiter}
+ */
+public class AimdLimiter {
+
+    private final ConcurrencyLimitProperties.Limit config;
+    private final long thresholdNanos;
+    private final LongSupplier nanoTime;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+    private volatile int limit;
+    private long lastDecreaseNanos;
+
+    public AimdLimiter(String name, ConcurrencyLimitProperties.Limit config, MeterRegistry meterRegistry) {
+        this(name, config, meterRegistry, System::nanoTime);
+    }
+
+    AimdLimiter(String name, ConcurrencyLimitProperties.Limit config, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.config = config;
+        this.thresholdNanos = config.latencyThreshold().toNanos();
+        this.nanoTime = nanoTime;
+        this.limit = config.initialLimit();
+        this.lastDecreaseNanos = nanoTime.getAsLong() - thresholdNanos;
+        Gauge.builder("http.server.concurrency.limit", this, AimdLimiter::limit)
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Gauge.builder("http.server.concurrency.inflight", this, AimdLimiter::inFlight)
+                .tag("limiter", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("http.server.concurrency.rejected")
+                .tag("limiter", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return false면 한도 초과 (release 하지 않는다.)
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed || latencyNanos > thresholdNanos) {
+                long now = nanoTime.getAsLong();
+                if (now - lastDecreaseNanos >= thresholdNanos) {
+                    limit = Math.max(config.minLimit(), (int) (limit * config.backoffRatio()));
+                    lastDecreaseNanos = now;
+                }
+            } else if (inFlightBefore * 2 >= limit) { // 놀고 있는 한도는 늘리지 않는다.
+                limit = Math.min(config.maxLimit(), limit + 1);
+            }
+        }
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
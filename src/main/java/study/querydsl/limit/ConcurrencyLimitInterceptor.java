@@ -0,0 +1,86 @@
+package study.querydsl.limit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @ConcurrencyLimited 메서드에 AimdLimiter 적용
+ * 한도를 넘으면 핸들러를 실행하지 않고 503 + Retry-After로 바로 응답한다. (응답 본문 없음)
+ * 핸들러 예외나 5xx 응답은 실패로 보고 한도를 줄인다.
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String ACQUIRED = ConcurrencyLimitInterceptor.class.getName() + ".acquired";
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AimdLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitInterceptor(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        AimdLimiter limiter = limiterOf(handler);
+        if (limiter == null) {
+            return true;
+        }
+        if (!limiter.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            return false;
+        }
+        request.setAttribute(ACQUIRED, new Acquired(limiter, System.nanoTime()));
+        return true;
+    }
+
+    /**
+     * 획득한 limiter를 요청 속성에서 꺼내서 반납한다.
+     * 예외가 나면 같은 요청이 /error로 다시 디스패치되는데, 그때 핸들러(BasicErrorController)에는 limiter가 없으므로 핸들러로 찾지 않는다.
+     * 속성은 반납할 때 지워서 두 번 반납하지 않는다.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(ACQUIRED) instanceof Acquired acquired)) {
+            return;
+        }
+        request.removeAttribute(ACQUIRED);
+        boolean failed = ex != null || response.getStatus() >= 500;
+        acquired.limiter().release(System.nanoTime() - acquired.startedAt(), failed);
+    }
+
+    AimdLimiter limiterOf(Object handler) {
+        if (!properties.enabled() || !(handler instanceof HandlerMethod handlerMethod)) {
+            return null;
+        }
+        ConcurrencyLimited limited = handlerMethod.getMethodAnnotation(ConcurrencyLimited.class);
+        if (limited == null) {
+            return null;
+        }
+        return limiters.computeIfAbsent(limited.value(), name -> new AimdLimiter(name, limitOf(name), meterRegistry));
+    }
+
+    private ConcurrencyLimitProperties.Limit limitOf(String name) {
+        ConcurrencyLimitProperties.Limit limit = properties.limiters().get(name);
+        if (limit == null) {
+            throw new IllegalStateException("querydsl.concurrency-limit.limiters." + name + " 설정이 없습니다.");
+        }
+        return limit;
+    }
+
+    private record Acquired(AimdLimiter limiter, long startedAt) {
+    }
+}
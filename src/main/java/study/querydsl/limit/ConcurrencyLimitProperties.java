@@ -0,0 +1,30 @@
+package study.querydsl.limit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * @param limiters 이름 -> 한도 설정 (@ConcurrencyLimited의 value)
+ */
+@ConfigurationProperties("querydsl.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue Map<String, Limit> limiters
+) {
+
+    /**
+     * @param latencyThreshold 응답 시간이 이보다 길면 과부하로 보고 한도를 줄인다.
+     * @param backoffRatio     줄일 때 곱하는 비율
+     */
+    public record Limit(
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("2") int minLimit,
+            @DefaultValue("200") int maxLimit,
+            @DefaultValue("100ms") Duration latencyThreshold,
+            @DefaultValue("0.9") double backoffRatio
+    ) {
+    }
+}
@@ -0,0 +1,17 @@
+package study.querydsl.limit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 동시 처리 한도를 적용할 컨트롤러 메서드
+ * value : querydsl.concurrency-limit.limiters의 이름 (같은 이름끼리 한도를 공유한다.)
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimited {
+
+    String value();
+}
@@ -0,0 +1,19 @@
+package study.querydsl.loader;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param rows       생성할 회원 수
+ * @param teams      팀 수 (회원은 팀에 round-robin으로 배정)
+ * @param batchSize  JDBC batch 크기 = 한 트랜잭션(청크)에서 넣는 row 수
+ * @param partitions 병렬로 적재할 파티션 수 (파티션마다 커넥션 하나)
+ */
+@ConfigurationProperties("querydsl.bulk-load")
+public record BulkLoadProperties(
+        @DefaultValue("1000000") long rows,
+        @DefaultValue("100") int teams,
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("1") int partitions
+) {
+}
@@ -0,0 +1,11 @@
+package study.querydsl.loader;
+
+import java.time.Duration;
+
+public record BulkLoadResult(long rows, int teams, Duration elapsed) {
+
+    public double rowsPerSecond() {
+        long millis = Math.max(1, elapsed.toMillis());
+        return rows * 1000.0 / millis;
+    }
+}
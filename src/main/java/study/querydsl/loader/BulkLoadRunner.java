@@ -0,0 +1,26 @@
+package study.querydsl.loader;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * load 프로필로 띄우면 시작할 때 대량 데이터를 적재한다.
+ * ex) --spring.profiles.active=load --querydsl.bulk-load.rows=10000000 --querydsl.bulk-load.partitions=4
+ * p6spy 로깅이 켜져 있으면 row마다 로그를 남기므로 decorator.datasource.enabled=false로 끄고 돌리자.
+ */
+@Profile("load")
+@Component
+@RequiredArgsConstructor
+public class BulkLoadRunner implements ApplicationRunner {
+
+    private final MemberBulkLoader memberBulkLoader;
+    private final BulkLoadProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        memberBulkLoader.load(properties);
+    }
+}
@@ -0,0 +1,137 @@
+package study.querydsl.loader;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.EntityChangedEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 대량 데이터 적재 (스테이징, 부하 테스트용)
+ * InitMember처럼 em.persist()를 한 건씩 하면 row마다 INSERT 한 번 + 엔티티 리스너, 1차 캐시 비용이 든다.
+ *
+ * 1. 영속성 컨텍스트를 거치지 않고 JDBC batch insert (batchSize 단위로 한 트랜잭션)
+ *    -> 1차 캐시에 엔티티가 쌓이지 않으므로 flush/clear가 필요 없고, 청크마다 커밋해서 언두 로그도 작게 유지한다.
+ * 2. id는 시퀀스에서 블록 단위로 받아온다. (SequenceIdAllocator)
+ * 3. partitions > 1이면 회원 구간을 나눠서 여러 커넥션으로 동시에 적재한다.
+ * 4. 엔티티 리스너를 타지 않으므로 끝나고 벌크 변경 이벤트를 한 번 발행한다. (캐시 무효화)
+ */
+@Slf4j
+@Component
+public class MemberBulkLoader {
+
+    private static final String INSERT_TEAM = "insert into team (team_id, name) values (?, ?)";
+    private static final String INSERT_MEMBER = "insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Dialect dialect;
+
+    public MemberBulkLoader(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            ApplicationEventPublisher eventPublisher, EntityManagerFactory emf) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.dialect = emf.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    public BulkLoadResult load(BulkLoadProperties properties) {
+        long start = System.nanoTime();
+
+        long[] teamIds = loadTeams(properties.teams());
+        loadMembers(properties, teamIds);
+        eventPublisher.publishEvent(EntityChangedEvent.bulk(Team.class));
+        eventPublisher.publishEvent(EntityChangedEvent.bulk(Member.class));
+
+        BulkLoadResult result = new BulkLoadResult(properties.rows(), properties.teams(), Duration.ofNanos(System.nanoTime() - start));
+        log.info("bulk load finished. rows={}, teams={}, partitions={}, elapsed={}ms, rows/sec={}",
+                result.rows(), result.teams(), properties.partitions(), result.elapsed().toMillis(), String.format("%.0f", result.rowsPerSecond()));
+        return result;
+    }
+
+    private long[] loadTeams(int teams) {
+        SequenceIdAllocator teamIdAllocator = allocator(Team.ID_SEQUENCE, Team.ID_ALLOCATION_SIZE);
+        long[] teamIds = new long[teams];
+        List<Object[]> args = new ArrayList<>(teams);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < teams; i++) {
+                teamIds[i] = teamIdAllocator.nextId();
+                args.add(new Object[]{teamIds[i], "team" + i});
+            }
+            jdbcTemplate.batchUpdate(INSERT_TEAM, args);
+        });
+        return teamIds;
+    }
+
+    private void loadMembers(BulkLoadProperties properties, long[] teamIds) {
+        int partitions = Math.max(1, properties.partitions());
+        long perPartition = (properties.rows() + partitions - 1) / partitions;
+
+        if (partitions == 1) {
+            loadPartition(0, properties.rows(), properties.batchSize(), teamIds);
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(partitions);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < partitions; p++) {
+                long from = p * perPartition;
+                long to = Math.min(properties.rows(), from + perPartition);
+                futures.add(executor.submit(() -> loadPartition(from, to, properties.batchSize(), teamIds)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("bulk load interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("bulk load failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * [from, to) 구간의 회원 적재. batchSize 단위로 커밋한다.
+     */
+    private void loadPartition(long from, long to, int batchSize, long[] teamIds) {
+        SequenceIdAllocator memberIdAllocator = allocator(Member.ID_SEQUENCE, Member.ID_ALLOCATION_SIZE);
+
+        for (long chunkStart = from; chunkStart < to; chunkStart += batchSize) {
+            long chunkEnd = Math.min(to, chunkStart + batchSize);
+            List<Object[]> args = new ArrayList<>((int) (chunkEnd - chunkStart));
+
+            long first = chunkStart;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (long i = first; i < chunkEnd; i++) {
+                    args.add(new Object[]{memberIdAllocator.nextId(), "member" + i, (int) (i % 100), teamIds[(int) (i % teamIds.length)]});
+                }
+                jdbcTemplate.batchUpdate(INSERT_MEMBER, args);
+            });
+        }
+    }
+
+    private SequenceIdAllocator allocator(String sequenceName, int allocationSize) {
+        String nextValueSql = dialect.getSequenceSupport().getSequenceNextValString(sequenceName);
+        return new SequenceIdAllocator(jdbcTemplate, nextValueSql, allocationSize);
+    }
+}
@@ -0,0 +1,35 @@
+package study.querydsl.loader;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 시퀀스 기반 id 블록 할당 (하이버네이트 pooled optimizer와 같은 규칙)
+ * 시퀀스 값 V 하나를 받으면 (V - allocationSize, V] 구간을 이 할당기가 쓴다.
+ * 따라서 엔티티를 em.persist()로 저장하는 쪽과 섞여도 id가 겹치지 않는다.
+ *
+ * 스레드에 안전하지 않다. 파티션(스레드)마다 하나씩 만든다.
+ */
+class SequenceIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextValueSql;
+    private final int allocationSize;
+
+    private long next = 1;
+    private long hi = 0;
+
+    SequenceIdAllocator(JdbcTemplate jdbcTemplate, String nextValueSql, int allocationSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextValueSql = nextValueSql;
+        this.allocationSize = allocationSize;
+    }
+
+    long nextId() {
+        if (next > hi) {
+            Long value = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+            hi = value;
+            next = Math.max(1, value - allocationSize + 1);
+        }
+        return next++;
+    }
+}
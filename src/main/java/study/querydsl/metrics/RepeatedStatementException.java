@@ -0,0 +1,11 @@
+package study.querydsl.metrics;
+
+/**
+ * 한 요청(트랜잭션) 안에서 같은 select가 임계치를 넘게 반복됐을 때 (N+1 의심)
+ */
+public class RepeatedStatementException extends RuntimeException {
+
+    public RepeatedStatementException(String message) {
+        super(message);
+    }
+}
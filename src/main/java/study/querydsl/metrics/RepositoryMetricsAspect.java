@@ -0,0 +1,166 @@
+package study.querydsl.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.repository.MemberSearchQueries;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리포지토리 메서드별 지연 시간, 반환 row 수 측정
+ * - repository.query (Timer) : p50, p99, p999
+ * - repository.rows (DistributionSummary) : 반환한 row 수
+ * 태그
+ * - method : 클래스명.메서드명
+ * - shape : 값이 있는 검색 조건 (ex. username+ageGoe, 조건 없으면 none, MemberSearchCondition을 받지 않으면 -)
+ * - outcome, exception : SUCCESS/none 또는 ERROR/예외 클래스명 (실패한 호출도 지연 시간에 포함해야 느린 실패가 p99에 드러난다.)
+ *
+ * 요청마다 Meter를 찾거나 태그를 만들지 않도록 (메서드, shape)별 Meter를 처음 한 번만 만들어 배열에 담아둔다.
+ * SQL 로그(org.hibernate.SQL: debug)보다 훨씬 가벼우므로 운영에서도 켜둘 수 있다.
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    private static final int NO_CONDITION = MemberSearchQueries.SHAPE_COUNT; // shape 배열의 마지막 칸
+    private static final String[] SHAPE_TAGS = shapeTags();
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * study.querydsl.repository.MemberJpaRepository.*(..))" +
+            " || (execution(* study.querydsl.repository.MemberRepositoryCustom.*(..)) && target(study.querydsl.repository.MemberRepository))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Throwable failure = null;
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            int shape = shapeOf(joinPoint.getArgs());
+            MethodMeters methodMeters = meters.computeIfAbsent(method, m -> new MethodMeters(tagOf(m)));
+            if (failure == null) {
+                methodMeters.timer(shape).record(elapsed, TimeUnit.NANOSECONDS);
+                methodMeters.rows(shape).record(rowsOf(result));
+            } else {
+                methodMeters.failureTimer(shape, failure).record(elapsed, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private static int shapeOf(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof MemberSearchCondition condition) {
+                return MemberSearchQueries.shapeOf(condition);
+            }
+        }
+        return NO_CONDITION;
+    }
+
+    private static long rowsOf(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) { // Page 포함
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Long count) { // searchStream, 벌크 연산
+            return count;
+        }
+        return result != null ? 1 : 0;
+    }
+
+    private static String tagOf(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    private static String[] shapeTags() {
+        String[] tags = new String[MemberSearchQueries.SHAPE_COUNT + 1];
+        for (int shape = 0; shape < MemberSearchQueries.SHAPE_COUNT; shape++) {
+            StringJoiner joiner = new StringJoiner("+");
+            if ((shape & MemberSearchQueries.USERNAME) != 0) joiner.add("username");
+            if ((shape & MemberSearchQueries.TEAM_NAME) != 0) joiner.add("teamName");
+            if ((shape & MemberSearchQueries.AGE_GOE) != 0) joiner.add("ageGoe");
+            if ((shape & MemberSearchQueries.AGE_LOE) != 0) joiner.add("ageLoe");
+            tags[shape] = shape == 0 ? "none" : joiner.toString();
+        }
+        tags[NO_CONDITION] = "-";
+        return tags;
+    }
+
+    private class MethodMeters {
+
+        private final String method;
+        private final Timer[] timers = new Timer[SHAPE_TAGS.length];
+        private final DistributionSummary[] rows = new DistributionSummary[SHAPE_TAGS.length];
+
+        MethodMeters(String method) {
+            this.method = method;
+        }
+
+        Timer timer(int shape) {
+            Timer timer = timers[shape];
+            if (timer == null) {
+                timer = timer(shape, "SUCCESS", "none"); // 같은 id면 registry가 같은 Meter를 돌려주므로 경합이 있어도 안전
+                timers[shape] = timer;
+            }
+            return timer;
+        }
+
+        /**
+         * 실패는 드물고 예외 종류가 정해져 있지 않으므로 매번 registry에서 찾는다.
+         */
+        Timer failureTimer(int shape, Throwable failure) {
+            return timer(shape, "ERROR", failure.getClass().getSimpleName());
+        }
+
+        private Timer timer(int shape, String outcome, String exception) {
+            return Timer.builder("repository.query")
+                    .tag("method", method)
+                    .tag("shape", SHAPE_TAGS[shape])
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .publishPercentiles(0.5, 0.99, 0.999)
+                    .register(meterRegistry);
+        }
+
+        DistributionSummary rows(int shape) {
+            DistributionSummary summary = rows[shape];
+            if (summary == null) {
+                summary = DistributionSummary.builder("repository.rows")
+                        .tag("method", method)
+                        .tag("shape", SHAPE_TAGS[shape])
+                        .register(meterRegistry);
+                rows[shape] = summary;
+            }
+            return summary;
+        }
+    }
+}
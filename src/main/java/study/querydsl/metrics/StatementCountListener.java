@@ -0,0 +1,71 @@
+package study.querydsl.metrics;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * p6spy 이벤트로 실행된 SQL 수를 세고, 같은 select의 반복(N+1)을 잡아낸다.
+ * p6spy-spring-boot-starter는 JdbcEventListener 빈을 자동으로 등록한다.
+ *
+ * 같은 select 판단은 PreparedStatement의 SQL(파라미터는 ?) 그대로 비교한다.
+ * ex) fetch join 없이 member.getTeam().getName()을 반복하면 "select ... from team where team_id=?"가 회원 수만큼 실행된다.
+ */
+@Slf4j
+@Component
+public class StatementCountListener extends SimpleJdbcEventListener {
+
+    private final StatementCountProperties properties;
+
+    public StatementCountListener(StatementCountProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        if (!properties.enabled()) {
+            return;
+        }
+        StatementScope scope = StatementScope.current();
+        if (scope == null) {
+            return;
+        }
+
+        String sql = fingerprint(statementInformation.getSql());
+        if (!isSelect(sql)) {
+            scope.countOther();
+            return;
+        }
+
+        int repeats = scope.countSelect(sql);
+        if (repeats == properties.repeatThreshold() + 1) { // 범위당 한 번만 알린다.
+            String message = "same select executed more than " + properties.repeatThreshold() + " times (N+1?) : " + sql;
+            if (properties.failOnRepeat()) {
+                throw new RepeatedStatementException(message);
+            }
+            log.warn(message);
+        }
+    }
+
+    /**
+     * use_sql_comments로 붙는 JPQL 주석 제거
+     */
+    private static String fingerprint(String sql) {
+        String trimmed = sql.strip();
+        if (trimmed.startsWith("/*")) {
+            int end = trimmed.indexOf("*/");
+            if (end >= 0) {
+                trimmed = trimmed.substring(end + 2).strip();
+            }
+        }
+        return trimmed;
+    }
+
+    private static boolean isSelect(String sql) {
+        return sql.regionMatches(true, 0, "select", 0, 6)
+                && !sql.contains("next value for") && !sql.contains("nextval"); // 시퀀스 조회 제외
+    }
+}
@@ -0,0 +1,16 @@
+package study.querydsl.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param repeatThreshold 한 요청(트랜잭션)에서 같은 select가 이 횟수를 넘으면 N+1 의심
+ * @param failOnRepeat    true면 경고 대신 예외를 던진다. (테스트용)
+ */
+@ConfigurationProperties("querydsl.statement-count")
+public record StatementCountProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10") int repeatThreshold,
+        @DefaultValue("false") boolean failOnRepeat
+) {
+}
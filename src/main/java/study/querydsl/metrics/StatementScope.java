@@ -0,0 +1,94 @@
+package study.querydsl.metrics;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 한 요청 또는 트랜잭션 동안 실행된 SQL 집계 (스레드 단위)
+ * 요청 범위는 StatementCountInterceptor가 열고 닫는다.
+ * 요청 밖(배치, 테스트)에서는 트랜잭션이 있으면 트랜잭션이 끝날 때까지를 하나의 범위로 본다.
+ * 요청이 다른 스레드에 맡긴 쿼리(병렬 카운트 쿼리)는 callWith로 같은 범위에 집계한다. (그래서 집계는 스레드 안전)
+ */
+public class StatementScope {
+
+    private static final ThreadLocal<StatementScope> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger total = new AtomicInteger();
+    private final Map<String, Integer> selects = new ConcurrentHashMap<>();
+
+    public static StatementScope begin() {
+        StatementScope scope = new StatementScope();
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * @return 닫은 범위 (없었으면 null)
+     */
+    public static StatementScope end() {
+        StatementScope scope = CURRENT.get();
+        CURRENT.remove();
+        return scope;
+    }
+
+    /**
+     * 현재 범위. 없으면 트랜잭션 범위를 새로 열고, 트랜잭션도 없으면 null
+     */
+    public static StatementScope current() {
+        StatementScope scope = CURRENT.get();
+        if (scope != null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return scope;
+        }
+
+        StatementScope transactionScope = begin();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                end();
+            }
+        });
+        return transactionScope;
+    }
+
+    /**
+     * 현재 스레드를 scope 범위로 두고 action을 실행한다. (끝나면 원래 범위로 되돌림)
+     */
+    public static <T> T callWith(StatementScope scope, Supplier<T> action) {
+        StatementScope previous = CURRENT.get();
+        set(scope);
+        try {
+            return action.get();
+        } finally {
+            set(previous);
+        }
+    }
+
+    private static void set(StatementScope scope) {
+        if (scope != null) {
+            CURRENT.set(scope);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public int total() {
+        return total.get();
+    }
+
+    void countOther() {
+        total.incrementAndGet();
+    }
+
+    /**
+     * @return 이 범위에서 같은 select가 실행된 횟수
+     */
+    int countSelect(String fingerprint) {
+        total.incrementAndGet();
+        return selects.merge(fingerprint, 1, Integer::sum);
+    }
+}
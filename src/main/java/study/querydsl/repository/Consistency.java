@@ -0,0 +1,9 @@
+package study.querydsl.repository;
+
+/**
+ * 검색 결과의 일관성 수준
+ */
+public enum Consistency {
+    STRONG, // 항상 DB 조회
+    SNAPSHOT // 메모리 스냅샷 조회 (커밋된 변경이 조금 늦게 반영될 수 있다. 스냅샷이 준비되지 않았으면 DB 조회)
+}
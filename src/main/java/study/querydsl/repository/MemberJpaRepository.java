@@ -5,7 +5,10 @@ import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
@@ -13,25 +16,38 @@ import study.querydsl.dto.QMemberDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.QTeam;
+import study.querydsl.event.EntityChangedEvent;
+import study.querydsl.repository.cache.MemberSearchCache;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.springframework.util.StringUtils.*;
 import static study.querydsl.entity.QMember.*;
 import static study.querydsl.entity.QTeam.*;
 
 @Repository
+@Transactional(readOnly = true) // 읽기 전용 트랜잭션은 레플리카로 라우팅된다. (RoutingDataSourceConfig)
 public class MemberJpaRepository {
 
+    private static final int STREAM_FETCH_SIZE = 1000;
+
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MemberSearchCache searchCache;
 
-    public MemberJpaRepository(EntityManager em) {
+    public MemberJpaRepository(EntityManager em, ApplicationEventPublisher eventPublisher, MemberSearchCache searchCache) {
         this.em = em;
         this.queryFactory = new JPAQueryFactory(em);
+        this.eventPublisher = eventPublisher;
+        this.searchCache = searchCache;
     }
 
+    @Transactional
     public void save(Member member) {
         em.persist(member);
     }
@@ -66,6 +82,23 @@ public class MemberJpaRepository {
                 .fetch();
     }
 
+    /**
+     * 벌크 연산 - age 이상인 회원의 나이 + 1
+     * 영속성 컨텍스트를 거치지 않으므로 실행 후 초기화하고, 엔티티 리스너 대신 직접 변경 이벤트를 발행한다. (캐시 무효화)
+     */
+    @Transactional
+    public long bulkAgePlus(int age) {
+        long count = queryFactory
+                .update(member)
+                .set(member.age, member.age.add(1))
+                .where(member.age.goe(age))
+                .execute();
+
+        em.clear();
+        eventPublisher.publishEvent(EntityChangedEvent.bulk(Member.class));
+        return count;
+    }
+
     /**
      * 동적 쿼리 - BooleanBuilder 사용
      */
@@ -99,6 +132,13 @@ public class MemberJpaRepository {
     }
 
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        return searchCache.get(condition, () -> MemberSearchQueries.search(em, condition)); // 미리 만들어 둔 JPQL에 파라미터만 바인딩
+    }
+
+    /**
+     * Querydsl 버전 (search()는 MemberSearchQueries를 사용하도록 변경, 비교용으로 남겨둠)
+     */
+    public List<MemberTeamDto> search_Querydsl(MemberSearchCondition condition) {
         return queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
@@ -118,6 +158,53 @@ public class MemberJpaRepository {
                 .fetch();
     }
 
+    /**
+     * 스트리밍 조회
+     * fetch()는 결과 전체를 List로 만든 뒤에 반환하므로 결과가 크면 힙이 터진다.
+     * stream()은 JDBC ResultSet을 fetchSize 단위로 끌어오면서 한 건씩 넘겨주므로, 소비하는 쪽이 바로 써버리면 메모리가 일정하게 유지된다.
+     * 스트림은 트랜잭션(커넥션) 안에서 다 소비하고 닫아야 하기 때문에 Stream을 반환하지 않고 consumer를 받는다.
+     *
+     * @return 처리한 row 수
+     */
+    public long searchStream(MemberSearchCondition condition, Consumer<MemberTeamDto> consumer) {
+        return searchStream(condition, STREAM_FETCH_SIZE, consumer);
+    }
+
+    /**
+     * @param fetchSize 한 번에 끌어오는 row 수 (전체 export처럼 오래 읽을 때는 크게)
+     */
+    public long searchStream(MemberSearchCondition condition, int fetchSize, Consumer<MemberTeamDto> consumer) {
+        long count = 0;
+        try (Stream<MemberTeamDto> stream = queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                )
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .stream()) {
+
+            // DTO 조회라 영속성 컨텍스트에 쌓이는 것이 없으므로 em.clear()는 필요 없다. (호출한 쪽 트랜잭션의 엔티티만 날아간다.)
+            Iterator<MemberTeamDto> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
     private BooleanExpression usernameEq(String username) {
         return hasText(username) ? member.username.eq(username) : null;
     }
@@ -1,13 +1,24 @@
 package study.querydsl.repository;
 
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAUpdateClause;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.support.BulkChunkOptions;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface MemberRepositoryCustom {
     List<MemberTeamDto> search(MemberSearchCondition condition);
+    List<MemberTeamDto> search(MemberSearchCondition condition, Consistency consistency);
     Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable);
+    Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable, PageQueryMode mode);
+    List<MemberTeamDto> searchByUsernameFragment(MemberSearchCondition condition, int limit);
+    Slice<MemberTeamDto> searchByCursor(MemberSearchCondition condition, Long lastMemberId, int size);
+    long updateInChunks(String jobName, Predicate where, Consumer<JPAUpdateClause> set, BulkChunkOptions options);
+    long deleteInChunks(String jobName, Predicate where, BulkChunkOptions options);
 }
@@ -1,17 +1,47 @@
 package study.querydsl.repository;
 
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
 import jakarta.persistence.EntityManager;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchKey;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.repository.cache.MemberCountCache;
+import study.querydsl.repository.cache.MemberSearchCache;
+import study.querydsl.repository.support.BulkChunkOptions;
+import study.querydsl.repository.support.ChunkedBulkExecutor;
+import study.querydsl.repository.support.ConcurrentPageExecutor;
+import study.querydsl.repository.support.CountQueries;
+import study.querydsl.repository.support.SingleFlight;
+import study.querydsl.search.UsernameIndex;
+import study.querydsl.search.UsernameIndexProperties;
+import study.querydsl.snapshot.MemberSnapshotIndex;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static org.springframework.util.StringUtils.hasText;
 import static study.querydsl.entity.QMember.member;
@@ -26,16 +56,76 @@ import static study.querydsl.entity.QTeam.team;
  * 추가로 여러 인터페이스를 분리해서 구현하는 것도 가능하기 때문에 새롭게 변경된 이 방식을 사용하는 것을 더 권장한다.
  * MemberRepositoryImpl -> MemberRepositoryCustomImpl 변경
  */
+@Transactional(readOnly = true)
 public class MemberRepositoryCustomImpl implements MemberRepositoryCustom{
 
+    /**
+     * 페이징 정렬에 쓸 수 있는 프로퍼티 (MemberTeamDto 필드명 기준, 나머지는 무시)
+     */
+    private static final Map<String, ComparableExpressionBase<?>> SORT_PROPERTIES = Map.of(
+            "memberId", member.id,
+            "username", member.username,
+            "age", member.age,
+            "teamId", team.id,
+            "teamName", team.name
+    );
+
     private final JPAQueryFactory queryFactory;
+    private final MemberCountCache countCache;
+    private final MemberSearchCache searchCache;
+    private final ConcurrentPageExecutor pageExecutor;
+    private final ChunkedBulkExecutor bulkExecutor;
+    private final MemberSnapshotIndex snapshotIndex;
+    private final UsernameIndex usernameIndex;
+    private final int maxUsernameCandidates;
+    private final SingleFlight singleFlight;
+    private final TransactionTemplate readOnlyTx;
 
-    public MemberRepositoryCustomImpl(EntityManager em) {
+    public MemberRepositoryCustomImpl(EntityManager em, MemberCountCache countCache, MemberSearchCache searchCache,
+                                      ConcurrentPageExecutor pageExecutor, ChunkedBulkExecutor bulkExecutor,
+                                      MemberSnapshotIndex snapshotIndex, UsernameIndex usernameIndex,
+                                      UsernameIndexProperties usernameIndexProperties, SingleFlight singleFlight,
+                                      PlatformTransactionManager transactionManager) {
         this.queryFactory = new JPAQueryFactory(em);
+        this.countCache = countCache;
+        this.searchCache = searchCache;
+        this.pageExecutor = pageExecutor;
+        this.bulkExecutor = bulkExecutor;
+        this.snapshotIndex = snapshotIndex;
+        this.usernameIndex = usernameIndex;
+        this.maxUsernameCandidates = usernameIndexProperties.maxCandidates();
+        this.singleFlight = singleFlight;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
     }
 
+    /**
+     * 같은 조건으로 동시에 들어온 호출은 쿼리 한 번의 결과를 나눠 받는다. (SingleFlight, 결과는 호출마다 복사본)
+     * 기다리는 호출이 커넥션을 잡고 있지 않도록 트랜잭션 밖(SUPPORTS)에서 합치고, 읽기 전용 트랜잭션은 실제로 실행하는 쪽에서만 연다.
+     * 호출한 쪽 트랜잭션이 있으면 거기에 참여한다.
+     */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        return singleFlight.execute(new FlightKey("search", MemberSearchKey.of(condition), Pageable.unpaged()),
+                () -> readOnlyTx.execute(status -> searchCache.get(condition, () -> fetchSearch(condition))),
+                MemberTeamDto::copyOf);
+    }
+
+    /**
+     * SNAPSHOT이면 메모리 스냅샷(MemberSnapshotIndex)에서 조건을 평가한다. (커밋 직후의 변경은 아직 안 보일 수 있음)
+     * 스냅샷이 꺼져 있거나 아직 적재 중이면 DB 조회
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<MemberTeamDto> search(MemberSearchCondition condition, Consistency consistency) {
+        if (consistency == Consistency.SNAPSHOT && snapshotIndex.isReady()) {
+            return snapshotIndex.search(condition);
+        }
+        return search(condition);
+    }
+
+    private List<MemberTeamDto> fetchSearch(MemberSearchCondition condition) {
         return queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"), // 생성자 selection이라 as 빼도 됨
@@ -60,9 +150,44 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom{
      * 데이터 조회 쿼리와 카운트 쿼리를 따로 날려야 한다.
      */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
+        return searchPageComplex(condition, pageable, PageQueryMode.SINGLE);
+    }
+
+    /**
+     * 정렬은 pageable.getSort() (SORT_PROPERTIES에 있는 프로퍼티만, 마지막에 member.id로 순서 고정)
+     * DEFERRED_JOIN : 깊은 페이지에서 offset으로 버리는 row까지 조인하고 DTO 컬럼을 읽지 않도록 id만 먼저 고른다.
+     * 트랜잭션은 search()와 같이 SingleFlight 안에서 연다.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable, PageQueryMode mode) {
         // 데이터 조회 쿼리
-        List<MemberTeamDto> content = queryFactory
+        Supplier<List<MemberTeamDto>> contentQuery = mode == PageQueryMode.DEFERRED_JOIN
+                ? () -> fetchPageDeferred(condition, pageable)
+                : () -> fetchPage(condition, pageable);
+
+        // 카운트 쿼리 (teamName 조건이 없으면 team 조인을 빼고 count(*) - CountQueries 참고)
+        JPAQuery<Long> countQuery = CountQueries.count(queryFactory, member,
+                List.of(CountQueries.toOne(member.team, team)),
+                usernameEq(condition.getUsername()),
+                teamNameEq(condition.getTeamName()),
+                ageGoe(condition.getAgeGoe()),
+                ageLoe(condition.getAgeLoe())
+        );
+
+//        return new PageImpl<>(content, pageable, total);
+        // PageableExecutionUtils.getPage와 같은 최적화(카운트 쿼리가 필요하지 않은 상황에는 굳이 카운트 쿼리를 날리지 않음) + 캐시된 카운트 재사용 + 설정 시 두 쿼리 병렬 실행
+        // 같은 (조건, 페이지)로 동시에 들어온 요청은 두 쿼리를 한 번만 실행한다.
+        return singleFlight.execute(new FlightKey("searchPageComplex", MemberSearchKey.of(condition), pageable),
+                () -> readOnlyTx.execute(status ->
+                        pageExecutor.getPage(contentQuery, pageable, () -> countCache.get(condition, countQuery::fetchOne))),
+                page -> new PageImpl<>(MemberTeamDto.copyOf(page.getContent()), page.getPageable(), page.getTotalElements()));
+    }
+
+    private List<MemberTeamDto> fetchPage(MemberSearchCondition condition, Pageable pageable) {
+        return queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.username,
@@ -78,30 +203,214 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom{
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe())
                 )
+                .orderBy(orderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+    }
+
+    /**
+     * 1. 조건 + 정렬 + offset/limit으로 member.id만 조회 (인덱스만 읽고 끝날 수 있다. team은 조건/정렬에 쓸 때만 조인)
+     * 2. member.id.in(ids)로 DTO 조회 후 1번 순서대로 다시 정렬
+     */
+    private List<MemberTeamDto> fetchPageDeferred(MemberSearchCondition condition, Pageable pageable) {
+        JPAQuery<Long> idQuery = queryFactory
+                .select(member.id)
+                .from(member);
+        if (hasText(condition.getTeamName()) || sortsByTeam(pageable.getSort())) {
+            idQuery.leftJoin(member.team, team);
+        }
+        List<Long> ids = idQuery
+                .where(
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                )
+                .orderBy(orderSpecifiers(pageable.getSort()))
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetch();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<MemberTeamDto> content = queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(member.id.in(ids))
+                .fetch();
+
+        Map<Long, Integer> positions = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
+        }
+        MemberTeamDto[] ordered = new MemberTeamDto[ids.size()];
+        for (MemberTeamDto dto : content) {
+            ordered[positions.get(dto.getMemberId())] = dto;
+        }
+        return Arrays.stream(ordered).filter(Objects::nonNull).toList(); // 두 쿼리 사이에 삭제된 회원은 빠진다.
+    }
+
+    private OrderSpecifier<?>[] orderSpecifiers(Sort sort) {
+        List<OrderSpecifier<?>> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            ComparableExpressionBase<?> property = SORT_PROPERTIES.get(order.getProperty());
+            if (property != null) {
+                orders.add(order.isAscending() ? property.asc() : property.desc());
+            }
+        }
+        orders.add(member.id.asc()); // 값이 같은 row끼리 순서 고정 (페이지 사이 중복/누락 방지)
+        return orders.toArray(OrderSpecifier[]::new);
+    }
+
+    private boolean sortsByTeam(Sort sort) {
+        return sort.stream().anyMatch(order -> order.getProperty().startsWith("team"));
+    }
+
+    /**
+     * 회원명 자동완성 (usernamePrefix 또는 usernameContains + 나머지 검색 조건)
+     * 메모리 인덱스(UsernameIndex)에서 후보 id를 찾고 member.id.in(...)으로 조회한다.
+     * 다른 조건이 있으면 후보를 maxCandidates까지 넉넉히 뽑고, 그래도 후보가 잘렸으면(잘린 뒤쪽에 조건을 만족하는 회원이 있을 수 있다.) DB like 조회
+     * 인덱스가 꺼져 있거나 적재 전이면 DB like 조회
+     * 정렬은 인덱스와 같이 소문자 username, member.id 순 (어느 쪽으로 조회해도 같은 결과)
+     */
+    @Override
+    public List<MemberTeamDto> searchByUsernameFragment(MemberSearchCondition condition, int limit) {
+        List<Long> ids = usernameIndex.isReady() ? findUsernameCandidates(condition, limit) : null;
+        if (ids != null && ids.isEmpty()) {
+            return List.of();
+        }
+        BooleanExpression fragment = ids != null ? member.id.in(ids) : usernameFragment(condition);
+
+        return queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        fragment,
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                )
+                .orderBy(member.username.lower().asc(), member.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    /**
+     * @return 인덱스에서 찾은 후보 id. 후보가 잘려서 결과가 모자랄 수 있거나 찾을 username 조건이 없으면 null (DB like 조회)
+     */
+    private List<Long> findUsernameCandidates(MemberSearchCondition condition, int limit) {
+        boolean otherConditions = hasText(condition.getUsername()) || hasText(condition.getTeamName())
+                || condition.getAgeGoe() != null || condition.getAgeLoe() != null;
+        int candidates = otherConditions ? Math.max(limit, maxUsernameCandidates) : limit;
+        List<Long> ids;
+        if (hasText(condition.getUsernamePrefix())) {
+            ids = usernameIndex.findByPrefix(condition.getUsernamePrefix(), candidates);
+        } else if (hasText(condition.getUsernameContains())) {
+            ids = usernameIndex.findByContains(condition.getUsernameContains(), candidates);
+        } else {
+            return null;
+        }
+        return otherConditions && ids.size() >= candidates ? null : ids;
+    }
+
+    private BooleanExpression usernameFragment(MemberSearchCondition condition) {
+        BooleanExpression prefix = usernameStartsWith(condition.getUsernamePrefix());
+        return prefix != null ? prefix : usernameContains(condition.getUsernameContains());
+    }
 
-        // 카운트 쿼리
-        JPAQuery<Long> countQuery = queryFactory
-                .select(member.count()) // 별도로 카운트 쿼리 날린다. (sql에서 count(member.id)와 동일)
+    /**
+     * Keyset(No Offset) 페이징
+     * offset은 앞의 row들을 모두 읽고 버리기 때문에 뒤 페이지로 갈수록 느려진다.
+     * 마지막으로 조회한 member.id 이후부터 읽으면 인덱스(PK)를 타고 바로 시작 위치를 찾으므로 페이지 깊이와 상관없이 일정한 속도가 나온다.
+     * 다음 페이지 존재 여부는 size + 1개를 조회해서 판단한다. (카운트 쿼리 x)
+     */
+    @Override
+    public Slice<MemberTeamDto> searchByCursor(MemberSearchCondition condition, Long lastMemberId, int size) {
+        List<MemberTeamDto> content = queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
                 .from(member)
                 .leftJoin(member.team, team)
                 .where(
+                        memberIdGt(lastMemberId),
                         usernameEq(condition.getUsername()),
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe())
-                );
+                )
+                .orderBy(member.id.asc())
+                .limit(size + 1)
+                .fetch();
 
-//        return new PageImpl<>(content, pageable, total);
-        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne); // 이렇게 하면 카운트 쿼리가 필요하지 않은 상황에는 굳이 카운트 쿼리를 날리지 않음(최적화)
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+        return new SliceImpl<>(content, PageRequest.ofSize(size), hasNext);
+    }
+
+    /**
+     * 청크 단위 벌크 update (ChunkedBulkExecutor 참고)
+     * ex) updateInChunks("rename-under-28", member.age.lt(28), update -> update.set(member.username, "비회원"), BulkChunkOptions.of(1000))
+     * 청크마다 새 트랜잭션으로 커밋하므로 호출한 쪽 트랜잭션과 같이 롤백되지 않는다.
+     * 호출한 쪽 트랜잭션은 중단하지 않고 그대로 두었다가, 끝나면 그 영속성 컨텍스트를 초기화한다.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public long updateInChunks(String jobName, Predicate where, Consumer<JPAUpdateClause> set, BulkChunkOptions options) {
+        return bulkExecutor.update(jobName, member, member.id, where, set, options);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public long deleteInChunks(String jobName, Predicate where, BulkChunkOptions options) {
+        return bulkExecutor.delete(jobName, member, member.id, where, options);
+    }
+
+    /**
+     * SingleFlight 키 (메서드가 다르면 결과 타입도 다르므로 구분)
+     */
+    private record FlightKey(String method, MemberSearchKey condition, Pageable pageable) {
+    }
+
+    private BooleanExpression memberIdGt(Long lastMemberId) {
+        return lastMemberId != null ? member.id.gt(lastMemberId) : null;
     }
 
     private BooleanExpression usernameEq(String username) {
         return hasText(username) ? member.username.eq(username) : null;
     }
 
+    private BooleanExpression usernameStartsWith(String usernamePrefix) {
+        return hasText(usernamePrefix) ? member.username.startsWithIgnoreCase(usernamePrefix) : null;
+    }
+
+    private BooleanExpression usernameContains(String usernameContains) {
+        return hasText(usernameContains) ? member.username.containsIgnoreCase(usernameContains) : null;
+    }
+
     private BooleanExpression teamNameEq(String teamName) {
         return hasText(teamName) ? team.name.eq(teamName) : null;
     }
@@ -0,0 +1,99 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * 미리 만들어 둔 검색 쿼리 (search(MemberSearchCondition) 전용)
+ * Querydsl로 검색하면 요청마다 표현식 트리를 만들고 JPQL 문자열로 직렬화한다.
+ * 그런데 검색 조건 4개(username, teamName, ageGoe, ageLoe)의 조합은 2^4 = 16가지 뿐이므로
+ * 16개의 JPQL을 처음에 한 번만 만들어 두고, 요청 시에는 조건에 맞는 JPQL을 골라 파라미터만 바인딩한다.
+ * JPQL 문자열이 항상 같으므로 하이버네이트의 쿼리 플랜 캐시도 항상 hit 한다.
+ *
+ * 조건 판단(hasText, null 체크)은 where 파라미터 메서드(usernameEq, teamNameEq, ageGoe, ageLoe)와 같다.
+ */
+public final class MemberSearchQueries {
+
+    public static final int USERNAME = 1;
+    public static final int TEAM_NAME = 1 << 1;
+    public static final int AGE_GOE = 1 << 2;
+    public static final int AGE_LOE = 1 << 3;
+    public static final int SHAPE_COUNT = 1 << 4;
+
+    private static final String SELECT =
+            "select new study.querydsl.dto.MemberTeamDto(m.id, m.username, m.age, t.id, t.name)" +
+            " from Member m left join m.team t";
+
+    private static final String[] SEARCH_JPQL = new String[SHAPE_COUNT];
+
+    static {
+        for (int shape = 0; shape < SHAPE_COUNT; shape++) {
+            SEARCH_JPQL[shape] = SELECT + where(shape);
+        }
+    }
+
+    private MemberSearchQueries() {
+    }
+
+    /**
+     * 값이 있는 조건을 비트로 표현한 쿼리 모양 (0 ~ 15)
+     */
+    public static int shapeOf(MemberSearchCondition condition) {
+        int shape = 0;
+        if (hasText(condition.getUsername())) {
+            shape |= USERNAME;
+        }
+        if (hasText(condition.getTeamName())) {
+            shape |= TEAM_NAME;
+        }
+        if (condition.getAgeGoe() != null) {
+            shape |= AGE_GOE;
+        }
+        if (condition.getAgeLoe() != null) {
+            shape |= AGE_LOE;
+        }
+        return shape;
+    }
+
+    public static List<MemberTeamDto> search(EntityManager em, MemberSearchCondition condition) {
+        int shape = shapeOf(condition);
+        TypedQuery<MemberTeamDto> query = em.createQuery(SEARCH_JPQL[shape], MemberTeamDto.class);
+        if ((shape & USERNAME) != 0) {
+            query.setParameter("username", condition.getUsername());
+        }
+        if ((shape & TEAM_NAME) != 0) {
+            query.setParameter("teamName", condition.getTeamName());
+        }
+        if ((shape & AGE_GOE) != 0) {
+            query.setParameter("ageGoe", condition.getAgeGoe());
+        }
+        if ((shape & AGE_LOE) != 0) {
+            query.setParameter("ageLoe", condition.getAgeLoe());
+        }
+        return query.getResultList();
+    }
+
+    private static String where(int shape) {
+        List<String> predicates = new ArrayList<>(4);
+        if ((shape & USERNAME) != 0) {
+            predicates.add("m.username = :username");
+        }
+        if ((shape & TEAM_NAME) != 0) {
+            predicates.add("t.name = :teamName");
+        }
+        if ((shape & AGE_GOE) != 0) {
+            predicates.add("m.age >= :ageGoe");
+        }
+        if ((shape & AGE_LOE) != 0) {
+            predicates.add("m.age <= :ageLoe");
+        }
+        return predicates.isEmpty() ? "" : " where " + String.join(" and ", predicates);
+    }
+}
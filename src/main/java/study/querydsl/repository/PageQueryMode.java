@@ -0,0 +1,9 @@
+package study.querydsl.repository;
+
+/**
+ * 페이징 조회 쿼리 방식
+ */
+public enum PageQueryMode {
+    SINGLE, // 조인 + 정렬 + offset을 쿼리 하나로
+    DEFERRED_JOIN // id만 정렬/offset으로 먼저 고르고, 그 id들로 DTO 조회 (깊은 페이지)
+}
@@ -0,0 +1,14 @@
+package study.querydsl.repository.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("querydsl.cache.count")
+public record CountCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("30s") Duration ttl,
+        @DefaultValue("10000") long maxSize
+) {
+}
@@ -0,0 +1,112 @@
+package study.querydsl.repository.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import study.querydsl.datasource.RoutingDataSourceProperties;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.EntityChangedEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 테이블별 데이터 버전 (조건부 GET의 ETag 재료)
+ * Member, Team이 저장/수정/삭제되거나 벌크 연산이 실행되면 해당 테이블 버전을 올린다.
+ * 버전과 요청 조건이 같으면 응답도 같으므로, If-None-Match가 맞으면 DB 조회 없이 304로 끝낼 수 있다.
+ *
+ * 증가 시점은 MemberCountCache 무효화와 같다.
+ * 1. 이벤트 발행 즉시 (트랜잭션 밖 벌크 연산)
+ * 2. 트랜잭션이 끝난 뒤 한 번 더 (커밋 전 데이터를 새 버전으로 읽어간 요청의 ETag 무효화)
+ * 서버마다(재시작 포함) 버전이 0부터 시작하므로 기동 시각(epoch)을 ETag에 같이 넣는다.
+ *
+ * 버전은 이 서버 메모리에만 있다. (서버 한 대 기준)
+ * - 다른 서버에서 커밋된 변경은 이 서버 버전을 올리지 못한다. -> ETag에 maxAge 단위 시간 구간을 넣어서 최대 maxAge까지만 같은 ETag를 쓴다.
+ * - 레플리카 라우팅(querydsl.datasource.routing.enabled)을 켜면 버전이 오른 직후에도 지연된 레플리카에서 이전 데이터를 읽을 수 있다.
+ *   그 데이터가 새 버전의 ETag로 응답되면 다음 변경까지 계속 304가 나가므로, 이때는 ETag를 쓰지 않는다.
+ */
+@Slf4j
+@Component
+public class DataVersions {
+
+    private final long epoch;
+    private final boolean etagEnabled;
+    private final long maxAgeMillis;
+    private final Clock clock;
+    private final Map<Class<?>, AtomicLong> versions = Map.of(
+            Member.class, new AtomicLong(),
+            Team.class, new AtomicLong()
+    );
+
+    @Autowired
+    public DataVersions(EtagProperties properties, RoutingDataSourceProperties routingProperties) {
+        this(properties, routingProperties, Clock.systemUTC());
+    }
+
+    DataVersions(EtagProperties properties, RoutingDataSourceProperties routingProperties, Clock clock) {
+        this.clock = clock;
+        this.epoch = clock.millis();
+        this.maxAgeMillis = Math.max(1, properties.maxAge().toMillis());
+        this.etagEnabled = properties.enabled() && !routingProperties.enabled();
+        if (properties.enabled() && routingProperties.enabled()) {
+            log.info("etag disabled: replica routing is enabled");
+        }
+    }
+
+    /**
+     * @return false면 조건부 GET을 하지 않는다. (꺼져 있거나 레플리카 라우팅 사용 중)
+     */
+    public boolean isEtagEnabled() {
+        return etagEnabled;
+    }
+
+    public long version(Class<?> table) {
+        AtomicLong version = versions.get(table);
+        if (version == null) {
+            throw new IllegalArgumentException("Untracked table " + table.getName());
+        }
+        return version.get();
+    }
+
+    /**
+     * 현재 Member, Team 버전 + 요청 조건으로 ETag를 만든다. (따옴표 없이, ServletWebRequest.checkNotModified에 그대로 넘긴다.)
+     * 버전을 먼저 읽고 DB를 조회해야 한다. (조회 도중 바뀌면 다음 요청의 ETag가 달라져서 다시 조회)
+     */
+    public String etag(Object... keys) {
+        StringJoiner source = new StringJoiner("|");
+        source.add(Long.toString(epoch));
+        source.add(Long.toString(clock.millis() / maxAgeMillis));
+        source.add(Long.toString(version(Member.class)));
+        source.add(Long.toString(version(Team.class)));
+        for (Object key : keys) {
+            source.add(String.valueOf(key));
+        }
+        return DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        increment(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void afterTransaction(EntityChangedEvent event) {
+        increment(event);
+    }
+
+    private void increment(EntityChangedEvent event) {
+        versions.forEach((table, version) -> {
+            if (event.isAbout(table)) {
+                version.incrementAndGet();
+            }
+        });
+    }
+}
@@ -0,0 +1,16 @@
+package study.querydsl.repository.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param maxAge 같은 ETag가 유효한 최대 시간 (다른 서버에서 바뀐 데이터는 최대 이만큼 늦게 반영된다.)
+ */
+@ConfigurationProperties("querydsl.cache.etag")
+public record EtagProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10s") Duration maxAge
+) {
+}
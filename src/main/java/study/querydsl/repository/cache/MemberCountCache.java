@@ -0,0 +1,86 @@
+package study.querydsl.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchKey;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.EntityChangedEvent;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 페이징 카운트 쿼리 캐시
+ * 카운트 쿼리는 조건에 맞는 전체 row를 세야 하므로 데이터 조회 쿼리보다 비쌀 때가 많다.
+ * 정확한 전체 개수가 조금 늦게 반영돼도 괜찮은 화면이라는 전제로, TTL 동안 같은 조건의 카운트를 재사용한다.
+ *
+ * 무효화
+ * 1. Member, Team이 저장/수정/삭제되거나 벌크 연산이 실행되면 바로 전체 무효화
+ * 2. 트랜잭션이 끝난 뒤에도 한 번 더 무효화 (커밋 전 데이터로 다른 요청이 다시 채워 넣은 값 제거, 롤백된 데이터로 계산된 값 제거)
+ *
+ * 쓰기 트랜잭션 안에서는 캐시를 읽지도 채우지도 않는다.
+ * 캐시된 값을 돌려주면 카운트 쿼리 전 auto flush가 일어나지 않아 자기가 저장한 데이터가 빠지고,
+ * flush 후 계산한 값을 넣으면 커밋 전 데이터가 다른 트랜잭션에 보인다.
+ */
+@Component
+public class MemberCountCache {
+
+    private final CountCacheProperties properties;
+    private final Cache<MemberSearchKey, Long> cache;
+
+    public MemberCountCache(CountCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.ttl())
+                .maximumSize(properties.maxSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "memberCount"); // cache.gets{result=hit|miss}, cache.evictions ...
+    }
+
+    public long get(MemberSearchCondition condition, LongSupplier countQuery) {
+        if (!properties.enabled() || inWriteTransaction()) {
+            return countQuery.getAsLong();
+        }
+        return cache.get(MemberSearchKey.of(condition), key -> countQuery.getAsLong());
+    }
+
+    private static boolean inWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.isAbout(Member.class, Team.class)) {
+            invalidateAll();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void afterTransaction(EntityChangedEvent event) {
+        if (event.isAbout(Member.class, Team.class)) {
+            invalidateAll();
+        }
+    }
+}
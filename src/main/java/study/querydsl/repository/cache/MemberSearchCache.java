@@ -0,0 +1,89 @@
+package study.querydsl.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchKey;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.EntityChangedEvent;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 검색 결과 캐시 (search(MemberSearchCondition))
+ * 같은 조건으로 반복해서 들어오는 조회(대시보드 polling 등)를 DB까지 보내지 않기 위해 사용한다.
+ * 용량은 항목 수가 아니라 캐시된 row 수(weight)로 제한한다.
+ * 무효화 규칙과 쓰기 트랜잭션 안에서 캐시를 거치지 않는 것은 MemberCountCache와 같다.
+ */
+@Component
+public class MemberSearchCache {
+
+    private final SearchCacheProperties properties;
+    private final Cache<MemberSearchKey, List<MemberTeamDto>> cache;
+
+    public MemberSearchCache(SearchCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.ttl())
+                .maximumWeight(properties.maxWeight())
+                .weigher((MemberSearchKey key, List<MemberTeamDto> value) -> value.size() + 1)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "memberSearch");
+    }
+
+    /**
+     * MemberTeamDto는 변경 가능한(@Data) 객체이므로 캐시에는 복사본을 넣고, 캐시에서 꺼낼 때도 복사본을 돌려준다.
+     * 호출한 쪽이 결과를 수정해도 캐시된 값과 다른 호출에는 영향이 없다. (반환하는 List는 수정 불가)
+     */
+    public List<MemberTeamDto> get(MemberSearchCondition condition, Supplier<List<MemberTeamDto>> query) {
+        if (!properties.enabled() || inWriteTransaction()) {
+            return query.get();
+        }
+
+        MemberSearchKey key = MemberSearchKey.of(condition);
+        List<MemberTeamDto> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return MemberTeamDto.copyOf(cached);
+        }
+
+        List<MemberTeamDto> result = List.copyOf(query.get());
+        if (result.size() <= properties.maxEntryRows()) {
+            cache.put(key, MemberTeamDto.copyOf(result));
+        }
+        return result;
+    }
+
+    private static boolean inWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.isAbout(Member.class, Team.class)) {
+            invalidateAll();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void afterTransaction(EntityChangedEvent event) {
+        if (event.isAbout(Member.class, Team.class)) {
+            invalidateAll();
+        }
+    }
+}
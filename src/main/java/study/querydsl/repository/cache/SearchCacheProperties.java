@@ -0,0 +1,19 @@
+package study.querydsl.repository.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param maxWeight    캐시 전체에 담을 수 있는 최대 row 수
+ * @param maxEntryRows 결과가 이보다 크면 캐시하지 않는다. (넓은 검색 하나가 캐시를 다 밀어내지 않도록)
+ */
+@ConfigurationProperties("querydsl.cache.search")
+public record SearchCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10s") Duration ttl,
+        @DefaultValue("100000") long maxWeight,
+        @DefaultValue("1000") int maxEntryRows
+) {
+}
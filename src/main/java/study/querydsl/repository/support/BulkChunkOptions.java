@@ -0,0 +1,23 @@
+package study.querydsl.repository.support;
+
+import java.time.Duration;
+
+/**
+ * @param chunkSize 한 트랜잭션에서 처리할 최대 row 수
+ * @param throttle  청크 사이에 쉬는 시간 (다른 트랜잭션이 락을 얻을 틈을 준다.)
+ */
+public record BulkChunkOptions(int chunkSize, Duration throttle) {
+
+    public BulkChunkOptions {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        if (throttle == null || throttle.isNegative()) {
+            throw new IllegalArgumentException("throttle must not be negative: " + throttle);
+        }
+    }
+
+    public static BulkChunkOptions of(int chunkSize) {
+        return new BulkChunkOptions(chunkSize, Duration.ZERO);
+    }
+}
@@ -0,0 +1,158 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.BulkJobCheckpoint;
+import study.querydsl.event.EntityChangedEvent;
+import study.querydsl.metrics.StatementScope;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 청크 단위 벌크 update/delete
+ * update(member).where(...).execute()를 한 번에 실행하면 대상 row 전체에 락을 잡은 채로 오래 실행되고 언두 로그도 크게 쌓인다.
+ * id 순서대로 chunkSize개씩 구간을 잘라서 구간마다 별도 트랜잭션으로 실행한다.
+ *
+ * 1. 다음 구간: where 조건에 맞는 id를 lastId 이후부터 chunkSize개 조회 -> (lastId, 마지막 id] 구간
+ * 2. 구간 update/delete 실행 + 체크포인트(BulkJobCheckpoint) 갱신을 한 트랜잭션에서 커밋
+ * 3. 청크마다 변경 이벤트를 발행한다. (캐시 무효화)
+ *    청크마다 같은 select(id 조회, 체크포인트 조회)가 반복되므로 SQL 집계(StatementScope)는 청크 트랜잭션마다 새 범위로 센다. (N+1 오탐 방지)
+ * 4. 모든 청크가 끝나면 호출한 쪽 영속성 컨텍스트를 초기화한다. (em.clear)
+ *    벌크 연산은 영속성 컨텍스트를 무시하므로, 호출 전에 읽어둔 엔티티는 변경 전 값을 들고 있다.
+ *    청크 트랜잭션(REQUIRES_NEW)이 끝나면 호출한 쪽 트랜잭션이 다시 묶이므로 이때의 em은 호출한 쪽 영속성 컨텍스트다.
+ *    flush하지 않은 호출한 쪽 변경도 같이 버려진다. (Spring Data @Modifying(clearAutomatically = true)와 같음)
+ *    호출한 쪽 트랜잭션이 대상 row를 이미 수정(flush)했다면 청크 트랜잭션이 그 락을 기다리게 되므로 그런 상태로 호출하지 않는다.
+ *
+ * 같은 jobName으로 다시 실행하면 체크포인트 다음부터 이어서 실행한다. (완료된 작업은 다시 실행하지 않는다.)
+ * where 조건에는 벌크 연산 대상 엔티티의 필드만 쓸 수 있다. (JPQL 벌크 연산은 조인 불가)
+ */
+@Slf4j
+@Component
+public class ChunkedBulkExecutor {
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ChunkedBulkExecutor(EntityManager em, PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher) {
+        this.em = em;
+        this.queryFactory = new JPAQueryFactory(em);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+    }
+
+    public long update(String jobName, EntityPathBase<?> entity, NumberPath<Long> id, Predicate where,
+                       Consumer<JPAUpdateClause> set, BulkChunkOptions options) {
+        return run(jobName, entity, id, where, options, window -> {
+            JPAUpdateClause update = queryFactory.update(entity);
+            set.accept(update);
+            return update.where(window).execute();
+        });
+    }
+
+    public long delete(String jobName, EntityPathBase<?> entity, NumberPath<Long> id, Predicate where, BulkChunkOptions options) {
+        return run(jobName, entity, id, where, options, window -> queryFactory
+                .delete(entity)
+                .where(window)
+                .execute());
+    }
+
+    /**
+     * @return 이번 실행에서 변경된 row 수
+     */
+    private long run(String jobName, EntityPathBase<?> entity, NumberPath<Long> id, Predicate where,
+                     BulkChunkOptions options, ChunkAction action) {
+        BulkJobCheckpoint checkpoint = inNewTransaction(status -> {
+            BulkJobCheckpoint found = em.find(BulkJobCheckpoint.class, jobName);
+            if (found == null) {
+                found = new BulkJobCheckpoint(jobName);
+                em.persist(found);
+            }
+            return found;
+        });
+        if (checkpoint.isCompleted()) {
+            log.info("bulk job already completed. {}", checkpoint);
+            return 0;
+        }
+
+        long lastId = checkpoint.getLastId();
+        long affected = 0;
+        while (true) {
+            long from = lastId;
+            Chunk chunk = inNewTransaction(status -> {
+                List<Long> ids = queryFactory
+                        .select(id)
+                        .from(entity)
+                        .where(where, id.gt(from))
+                        .orderBy(id.asc())
+                        .limit(options.chunkSize())
+                        .fetch();
+
+                BulkJobCheckpoint current = em.find(BulkJobCheckpoint.class, jobName);
+                if (ids.isEmpty()) {
+                    current.complete();
+                    return null;
+                }
+
+                long to = ids.get(ids.size() - 1);
+                long count = action.execute(ExpressionUtils.allOf(where, id.gt(from), id.loe(to)));
+                current.advance(to, count);
+                eventPublisher.publishEvent(EntityChangedEvent.bulk(entity.getType()));
+                return new Chunk(to, count);
+            });
+
+            if (chunk == null) {
+                break;
+            }
+            lastId = chunk.lastId();
+            affected += chunk.affected();
+            throttle(options);
+        }
+
+        em.clear(); // 호출한 쪽 영속성 컨텍스트 (트랜잭션이 없으면 비어 있는 임시 컨텍스트라 영향 없음)
+        log.info("bulk job completed. job={}, affected={}", jobName, affected);
+        return affected;
+    }
+
+    /**
+     * 청크 트랜잭션(REQUIRES_NEW)을 호출한 쪽 SQL 집계 범위와 분리해서 실행한다.
+     */
+    private <T> T inNewTransaction(TransactionCallback<T> action) {
+        return StatementScope.callWith(new StatementScope(), () -> transactionTemplate.execute(action));
+    }
+
+    private static void throttle(BulkChunkOptions options) {
+        if (options.throttle().isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(options.throttle());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("bulk job interrupted", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkAction {
+        long execute(Predicate window);
+    }
+
+    private record Chunk(long lastId, long affected) {
+    }
+}
@@ -0,0 +1,175 @@
+package study.querydsl.repository.support;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.metrics.StatementScope;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 데이터 조회 쿼리와 카운트 쿼리 병렬 실행
+ * 기존에는 두 쿼리를 차례로 실행하므로 응답 시간 = 조회 쿼리 + 카운트 쿼리였다.
+ * 카운트 쿼리를 가상 스레드에서 먼저 출발시키고, 요청 스레드는 조회 쿼리를 실행한 뒤 결과를 합친다.
+ *
+ * 1. 카운트 쿼리는 다른 스레드에서 실행되므로 호출한 쪽 트랜잭션에 참여할 수 없다.
+ *    별도 읽기 전용 트랜잭션으로 실행해서 레플리카 라우팅을 그대로 타고, SQL 수는 요청 범위(StatementScope)에 같이 센다.
+ * 2. 쓰기 트랜잭션 안에서는 커밋 전 데이터를 다른 커넥션이 볼 수 없으므로 직렬로 실행한다.
+ * 3. PageableExecutionUtils의 최적화는 그대로 유지된다. 카운트가 필요 없는 페이지면 카운트 결과를 기다리지 않는다.
+ *    실행 중인 카운트 쿼리는 인터럽트하지 않고 끝나게 둔다. (JDBC 소켓 읽기 중 인터럽트되면 커넥션이 깨진 채로 풀에 돌아갈 수 있다.)
+ * 4. 요청 스레드는 트랜잭션 커넥션을 잡은 채로 카운트 결과를 기다리므로, 카운트 쿼리가 커넥션을 못 받으면 풀 전체가 멈출 수 있다.
+ *    - 동시 실행 수는 maxConcurrency와 풀 크기의 절반 중 작은 값이다.
+ *    - 풀에 여유 커넥션이 없으면(사용 중 + 대기 중 >= 최대) 직렬로 실행한다. (HikariCP일 때, 레플리카 라우팅이면 허용 수만 본다.)
+ *    - 그래도 countTimeout 안에 결과가 없으면 기다리지 않고 요청 스레드의 커넥션으로 직접 실행한다.
+ */
+@Component
+public class ConcurrentPageExecutor implements DisposableBean {
+
+    private final ConcurrentPagingProperties properties;
+    private final HikariDataSource pool; // null이면 풀 상태를 알 수 없다.
+    private final Semaphore permits;
+    private final TransactionTemplate readOnlyTx;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public ConcurrentPageExecutor(ConcurrentPagingProperties properties, PlatformTransactionManager transactionManager,
+                                  DataSource dataSource) {
+        this(properties, transactionManager, hikari(dataSource));
+    }
+
+    ConcurrentPageExecutor(ConcurrentPagingProperties properties, PlatformTransactionManager transactionManager,
+                           HikariDataSource pool) {
+        this.properties = properties;
+        this.pool = pool;
+        int maxConcurrency = pool != null
+                ? Math.min(properties.maxConcurrency(), pool.getMaximumPoolSize() / 2)
+                : properties.maxConcurrency();
+        this.permits = new Semaphore(Math.max(0, maxConcurrency));
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    public <T> Page<T> getPage(Supplier<List<T>> contentQuery, Pageable pageable, LongSupplier countQuery) {
+        if (!canRunConcurrently(pageable) || !permits.tryAcquire()) {
+            return PageableExecutionUtils.getPage(contentQuery.get(), pageable, countQuery);
+        }
+        if (!hasIdleConnection()) {
+            permits.release();
+            return PageableExecutionUtils.getPage(contentQuery.get(), pageable, countQuery);
+        }
+
+        CountTask task = new CountTask(StatementScope.current(), countQuery);
+        Future<Long> count;
+        try {
+            count = executor.submit(task);
+        } catch (RejectedExecutionException e) { // 종료 중
+            task.abandon();
+            return PageableExecutionUtils.getPage(contentQuery.get(), pageable, countQuery);
+        }
+
+        List<T> content = contentQuery.get();
+        return PageableExecutionUtils.getPage(content, pageable, () -> await(count, task, countQuery));
+    }
+
+    private boolean canRunConcurrently(Pageable pageable) {
+        if (!properties.enabled() || pageable.isUnpaged()) {
+            return false;
+        }
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private boolean hasIdleConnection() {
+        HikariPoolMXBean mxBean = pool != null ? pool.getHikariPoolMXBean() : null;
+        if (mxBean == null) {
+            return true;
+        }
+        return mxBean.getActiveConnections() + mxBean.getThreadsAwaitingConnection() < pool.getMaximumPoolSize();
+    }
+
+    private long await(Future<Long> count, CountTask task, LongSupplier countQuery) {
+        try {
+            return count.get(properties.countTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) { // 커넥션을 못 받고 있을 수 있다. 이미 실행 중이면 끝나게 두고 결과는 버린다.
+            task.abandon();
+            count.cancel(false);
+            return countQuery.getAsLong();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("카운트 쿼리 대기 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static HikariDataSource hikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 카운트 쿼리 작업. 허용 수는 실행한 작업이 끝날 때, 실행되지 않은 작업은 포기할 때 한 번만 반납한다.
+     */
+    private final class CountTask implements Callable<Long> {
+
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final StatementScope scope;
+        private final LongSupplier countQuery;
+
+        CountTask(StatementScope scope, LongSupplier countQuery) {
+            this.scope = scope;
+            this.countQuery = countQuery;
+        }
+
+        @Override
+        public Long call() {
+            if (!claimed.compareAndSet(false, true)) {
+                return null; // 요청 스레드가 직접 실행했다.
+            }
+            try {
+                return StatementScope.callWith(scope, () -> readOnlyTx.execute(status -> countQuery.getAsLong()));
+            } finally {
+                permits.release();
+            }
+        }
+
+        void abandon() {
+            if (claimed.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
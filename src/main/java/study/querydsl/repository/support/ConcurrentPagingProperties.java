@@ -0,0 +1,20 @@
+package study.querydsl.repository.support;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param maxConcurrency 동시에 병렬 실행할 수 있는 페이지 요청 수. 넘치면 직렬로 실행한다.
+ *                       커넥션 풀 크기(maximumPoolSize)의 절반을 넘지 않는다. (요청 스레드와 카운트 쿼리가 커넥션을 하나씩 쓴다.)
+ * @param countTimeout   카운트 쿼리 결과를 기다리는 최대 시간. 넘으면 요청 스레드의 커넥션으로 직접 실행한다.
+ *                       평소 카운트 쿼리 시간보다 넉넉하게 잡는다. (넘으면 카운트 쿼리가 두 번 실행된다.)
+ */
+@ConfigurationProperties("querydsl.paging.concurrent")
+public record ConcurrentPagingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("4") int maxConcurrency,
+        @DefaultValue("1s") Duration countTimeout
+) {
+}
@@ -0,0 +1,86 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.SubQueryExpression;
+import com.querydsl.core.types.TemplateExpression;
+import com.querydsl.core.types.dsl.Wildcard;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 페이징 카운트 쿼리 생성 (조인 가지치기)
+ * 데이터 조회 쿼리의 조인을 그대로 복사하면, 조건이 없는 화면에서도 카운트 쿼리가 조인을 한다.
+ * to-one left join은 row 수를 바꾸지 못하므로, where 조건에서 조인 대상을 참조하지 않으면 빼도 결과가 같다.
+ * 남은 쿼리는 count(*)로 세서 DB가 가장 작은 인덱스(조건 컬럼 인덱스 또는 PK)만 읽고 끝낼 수 있게 한다.
+ *
+ * ex) CountQueries.count(queryFactory, member, List.of(CountQueries.toOne(member.team, team)),
+ *         usernameEq(...), teamNameEq(...), ageGoe(...), ageLoe(...))
+ *     teamName 조건이 없으면 -> select count(*) from member where ...
+ */
+public final class CountQueries {
+
+    private CountQueries() {
+    }
+
+    /**
+     * @param toOneJoins 조회 쿼리의 to-one left join (참조하는 조건이 있을 때만 붙는다.)
+     * @param where      조회 쿼리와 같은 조건 (null은 무시)
+     */
+    public static JPAQuery<Long> count(JPAQueryFactory queryFactory, EntityPath<?> from,
+                                       List<ToOneJoin<?>> toOneJoins, Predicate... where) {
+        Set<Path<?>> referenced = new HashSet<>();
+        for (Predicate predicate : where) {
+            if (predicate != null) {
+                collectRoots(predicate, referenced);
+            }
+        }
+
+        JPAQuery<Long> query = queryFactory
+                .select(Wildcard.count)
+                .from(from);
+        for (ToOneJoin<?> join : toOneJoins) {
+            if (referenced.contains(join.alias())) {
+                join.applyTo(query);
+            }
+        }
+        return query.where(where);
+    }
+
+    public static <P> ToOneJoin<P> toOne(EntityPath<P> association, Path<P> alias) {
+        return new ToOneJoin<>(association, alias);
+    }
+
+    /**
+     * 식에서 참조하는 경로의 루트(엔티티 별칭)를 모은다. (서브쿼리 안에서 바깥 별칭을 참조하는 경우 포함)
+     */
+    static void collectRoots(Expression<?> expression, Set<Path<?>> roots) {
+        if (expression instanceof Path<?> path) {
+            roots.add(path.getRoot());
+        } else if (expression instanceof Operation<?> operation) {
+            operation.getArgs().forEach(arg -> collectRoots(arg, roots));
+        } else if (expression instanceof TemplateExpression<?> template) {
+            template.getArgs().stream()
+                    .filter(Expression.class::isInstance)
+                    .forEach(arg -> collectRoots((Expression<?>) arg, roots));
+        } else if (expression instanceof SubQueryExpression<?> subQuery) {
+            if (subQuery.getMetadata().getWhere() != null) {
+                collectRoots(subQuery.getMetadata().getWhere(), roots);
+            }
+        }
+    }
+
+    public record ToOneJoin<P>(EntityPath<P> association, Path<P> alias) {
+
+        void applyTo(JPAQuery<?> query) {
+            query.leftJoin(association, alias);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpressionBase;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Visitor;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Projections.bean / fields / constructor 대체
+ * Querydsl 기본 구현은 row마다 리플렉션(Method.invoke, Field.set, Constructor.newInstance)으로 DTO를 만든다.
+ * DTO 클래스 + 별칭(또는 인자 타입) 조합마다 한 번만 접근자를 찾아서 바인딩해 두고, row마다 그것만 호출한다.
+ * - bean : 기본 생성자, setter -> LambdaMetafactory로 만든 Supplier, BiConsumer
+ * - fields : 필드 setter MethodHandle (LambdaMetafactory는 필드 접근을 감쌀 수 없음)
+ * - constructor : 생성자 MethodHandle (인자 배열을 펼쳐서 호출)
+ *
+ * 동작은 Querydsl과 같다.
+ * - bean, fields는 경로 이름이나 별칭(member.username.as("name"), ExpressionUtils.as(서브쿼리, "age"))으로 프로퍼티를 찾는다.
+ * - 맞는 프로퍼티가 없는 인자와 null 값은 건너뛴다. (DTO 필드는 기본값)
+ * - constructor는 인자 타입에 맞는 생성자를 찾는다. 기본 타입 인자에 null이 오면 그 타입의 기본값(0, false)을 넘긴다.
+ * DTO에 @QueryProjection이 필요 없다.
+ */
+public final class MethodHandleProjections {
+
+    private static final Map<BinderKey, Binder<?>> BINDERS = new ConcurrentHashMap<>();
+
+    private MethodHandleProjections() {
+    }
+
+    public static <T> MethodHandleProjection<T> bean(Class<? extends T> type, Expression<?>... exprs) {
+        return projection(Mode.BEAN, type, exprs);
+    }
+
+    public static <T> MethodHandleProjection<T> fields(Class<? extends T> type, Expression<?>... exprs) {
+        return projection(Mode.FIELDS, type, exprs);
+    }
+
+    public static <T> MethodHandleProjection<T> constructor(Class<? extends T> type, Expression<?>... exprs) {
+        return projection(Mode.CONSTRUCTOR, type, exprs);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> MethodHandleProjection<T> projection(Mode mode, Class<? extends T> type, Expression<?>... exprs) {
+        BinderKey key = new BinderKey(mode, type, signature(mode, exprs));
+        Binder<T> binder = (Binder<T>) BINDERS.computeIfAbsent(key, MethodHandleProjections::createBinder);
+        return new MethodHandleProjection<>(type, List.of(exprs), binder);
+    }
+
+    /**
+     * bean, fields는 프로퍼티 이름 목록, constructor는 인자 타입 목록
+     */
+    private static List<Object> signature(Mode mode, Expression<?>... exprs) {
+        return Arrays.stream(exprs)
+                .map(expr -> mode == Mode.CONSTRUCTOR ? (Object) expr.getType() : nameOf(expr))
+                .toList();
+    }
+
+    private static String nameOf(Expression<?> expr) {
+        if (expr instanceof Path<?> path) {
+            return path.getMetadata().getName();
+        }
+        if (expr instanceof Operation<?> operation && operation.getOperator() == Ops.ALIAS) {
+            return ((Path<?>) operation.getArg(1)).getMetadata().getName();
+        }
+        throw new IllegalArgumentException("Unsupported expression " + expr);
+    }
+
+    private static Binder<?> createBinder(BinderKey key) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(key.type(), MethodHandles.lookup());
+            return switch (key.mode()) {
+                case BEAN -> beanBinder(lookup, key.type(), key.signature());
+                case FIELDS -> fieldsBinder(lookup, key.type(), key.signature());
+                case CONSTRUCTOR -> constructorBinder(lookup, key.type(), key.signature());
+            };
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("cannot bind projection for " + key.type().getName(), e);
+        }
+    }
+
+    // bean
+
+    @SuppressWarnings("unchecked")
+    private static Binder<?> beanBinder(MethodHandles.Lookup lookup, Class<?> type, List<Object> names) throws Throwable {
+        MethodHandle noArgs = lookup.findConstructor(type, methodType(void.class));
+        CallSite constructorSite = LambdaMetafactory.metafactory(lookup, "get", methodType(Supplier.class),
+                methodType(Object.class), noArgs, methodType(type));
+        Supplier<Object> constructor = (Supplier<Object>) constructorSite.getTarget().invokeExact();
+
+        BiConsumer<Object, Object>[] setters = new BiConsumer[names.size()];
+        for (int i = 0; i < setters.length; i++) {
+            Method setter = findSetter(type, (String) names.get(i));
+            if (setter != null) {
+                MethodHandle handle = lookup.unreflect(setter);
+                Class<?> parameterType = handle.type().parameterType(1);
+                CallSite setterSite = LambdaMetafactory.metafactory(lookup, "accept", methodType(BiConsumer.class),
+                        methodType(void.class, Object.class, Object.class), handle,
+                        methodType(void.class, type, methodType(parameterType).wrap().returnType()));
+                setters[i] = (BiConsumer<Object, Object>) setterSite.getTarget().invokeExact();
+            }
+        }
+
+        return args -> {
+            Object bean = constructor.get();
+            for (int i = 0; i < setters.length; i++) {
+                if (setters[i] != null && args[i] != null) {
+                    setters[i].accept(bean, args[i]);
+                }
+            }
+            return bean;
+        };
+    }
+
+    private static Method findSetter(Class<?> type, String property) {
+        String name = "set" + Character.toUpperCase(property.charAt(0)) + property.substring(1);
+        for (Method method : type.getMethods()) {
+            if (method.getName().equals(name) && method.getParameterCount() == 1 && !Modifier.isStatic(method.getModifiers())) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    // fields
+
+    private static Binder<?> fieldsBinder(MethodHandles.Lookup lookup, Class<?> type, List<Object> names) throws Throwable {
+        MethodHandle noArgs = lookup.findConstructor(type, methodType(void.class)).asType(methodType(Object.class));
+
+        MethodHandle[] setters = new MethodHandle[names.size()];
+        for (int i = 0; i < setters.length; i++) {
+            Field field = findField(type, (String) names.get(i));
+            if (field != null) {
+                MethodHandles.Lookup fieldLookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+                setters[i] = fieldLookup.findSetter(field.getDeclaringClass(), field.getName(), field.getType())
+                        .asType(methodType(void.class, Object.class, Object.class));
+            }
+        }
+
+        return args -> {
+            Object bean = noArgs.invokeExact();
+            for (int i = 0; i < setters.length; i++) {
+                if (setters[i] != null && args[i] != null) {
+                    setters[i].invokeExact(bean, args[i]);
+                }
+            }
+            return bean;
+        };
+    }
+
+    private static Field findField(Class<?> type, String name) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.getName().equals(name) && !Modifier.isStatic(field.getModifiers())) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    // constructor
+
+    private static Binder<?> constructorBinder(MethodHandles.Lookup lookup, Class<?> type, List<Object> argTypes) throws Throwable {
+        Constructor<?> constructor = findConstructor(type, argTypes);
+        MethodHandle handle = lookup.unreflectConstructor(constructor)
+                .asSpreader(Object[].class, argTypes.size())
+                .asType(methodType(Object.class, Object[].class));
+
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        Object[] zeros = new Object[parameterTypes.length]; // 기본 타입 인자의 기본값, 참조 타입이면 null
+        boolean hasPrimitive = false;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i].isPrimitive()) {
+                zeros[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+                hasPrimitive = true;
+            }
+        }
+        if (!hasPrimitive) {
+            return args -> handle.invokeExact(args);
+        }
+        return args -> {
+            Object[] values = args;
+            for (int i = 0; i < zeros.length; i++) {
+                if (zeros[i] != null && args[i] == null) { // 언박싱 NPE 대신 기본값 (max() 서브쿼리, left join 결과가 null인 경우)
+                    if (values == args) {
+                        values = args.clone();
+                    }
+                    values[i] = zeros[i];
+                }
+            }
+            return handle.invokeExact(values);
+        };
+    }
+
+    private static Constructor<?> findConstructor(Class<?> type, List<Object> argTypes) {
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            if (parameterTypes.length != argTypes.size()) {
+                continue;
+            }
+            boolean matches = true;
+            for (int i = 0; i < parameterTypes.length && matches; i++) {
+                Class<?> parameterType = MethodType.methodType(parameterTypes[i]).wrap().returnType();
+                matches = parameterType.isAssignableFrom((Class<?>) argTypes.get(i));
+            }
+            if (matches) {
+                return constructor;
+            }
+        }
+        throw new IllegalArgumentException("No constructor found for " + type.getName() + " with parameters " + argTypes);
+    }
+
+    private enum Mode {
+        BEAN, FIELDS, CONSTRUCTOR
+    }
+
+    private record BinderKey(Mode mode, Class<?> type, List<Object> signature) {
+    }
+
+    @FunctionalInterface
+    private interface Binder<T> {
+        T create(Object[] args) throws Throwable;
+    }
+
+    /**
+     * Querydsl FactoryExpression (QBean, QConstructor와 같은 위치에 쓴다.)
+     */
+    public static final class MethodHandleProjection<T> extends FactoryExpressionBase<T> {
+
+        private final List<Expression<?>> args;
+        private final Binder<T> binder;
+
+        private MethodHandleProjection(Class<? extends T> type, List<Expression<?>> args, Binder<T> binder) {
+            super(type);
+            this.args = args;
+            this.binder = binder;
+        }
+
+        @Override
+        public List<Expression<?>> getArgs() {
+            return args;
+        }
+
+        @Override
+        public T newInstance(Object... args) {
+            try {
+                return binder.create(args);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public <R, C> R accept(Visitor<R, C> v, C context) {
+            return v.visit(this, context);
+        }
+    }
+}
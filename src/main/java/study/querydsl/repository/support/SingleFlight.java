@@ -0,0 +1,109 @@
+package study.querydsl.repository.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * 같은 키로 동시에 들어온 호출 합치기 (single flight)
+ * 먼저 온 호출(leader)만 실행하고, 실행 중에 같은 키로 들어온 호출은 그 결과를 같이 받는다.
+ * 캐시와 달리 실행이 끝나면 아무것도 남기지 않는다. (끝난 뒤 들어온 호출은 다시 실행)
+ *
+ * 1. maxWait 안에 leader가 끝나지 않으면 기다리던 호출은 직접 실행한다.
+ * 2. leader가 실패하면 기다리던 호출도 같은 예외로 실패한다. (장애 시 같은 쿼리를 몰아서 다시 날리지 않도록)
+ * 3. 쓰기 트랜잭션 안의 호출은 커밋 전 데이터를 볼 수 있으므로 합치지 않는다.
+ * 4. 결과가 변경 가능한 객체면 copy로 기다리던 호출마다 복사본을 준다. (leader는 원본)
+ * 5. 기다리는 동안 트랜잭션 커넥션을 잡고 있지 않도록 트랜잭션 밖에서 호출하고, 트랜잭션은 call 안에서 연다.
+ *
+ * repository.singleflight.calls{result=leader|coalesced|timeout}
+ */
+@Component
+public class SingleFlight {
+
+    private final SingleFlightProperties properties;
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaderCalls;
+    private final Counter coalescedCalls;
+    private final Counter timeoutCalls;
+
+    public SingleFlight(SingleFlightProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.leaderCalls = counter(meterRegistry, "leader");
+        this.coalescedCalls = counter(meterRegistry, "coalesced");
+        this.timeoutCalls = counter(meterRegistry, "timeout");
+    }
+
+    /**
+     * 결과가 불변 객체일 때
+     */
+    public <T> T execute(Object key, Supplier<T> call) {
+        return execute(key, call, UnaryOperator.identity());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> call, UnaryOperator<T> copy) {
+        if (!canCoalesce()) {
+            return call.get();
+        }
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+        if (running == null) {
+            leaderCalls.increment();
+            try {
+                T result = call.get();
+                flight.complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                flight.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, flight);
+            }
+        }
+
+        try {
+            T result = (T) running.get(properties.maxWait().toMillis(), TimeUnit.MILLISECONDS);
+            coalescedCalls.increment();
+            return copy.apply(result);
+        } catch (TimeoutException e) {
+            timeoutCalls.increment();
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("합쳐진 호출 대기 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private boolean canCoalesce() {
+        if (!properties.enabled()) {
+            return false;
+        }
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("repository.singleflight.calls")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
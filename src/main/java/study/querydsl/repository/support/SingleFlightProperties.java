@@ -0,0 +1,16 @@
+package study.querydsl.repository.support;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param maxWait 먼저 실행 중인 호출을 기다리는 최대 시간. 넘으면 직접 실행한다.
+ */
+@ConfigurationProperties("querydsl.singleflight")
+public record SingleFlightProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("2s") Duration maxWait
+) {
+}
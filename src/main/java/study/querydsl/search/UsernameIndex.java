@@ -0,0 +1,310 @@
+package study.querydsl.search;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.event.ChangeType;
+import study.querydsl.event.EntityChangedEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntPredicate;
+import java.util.stream.Stream;
+
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 회원명 자동완성 인덱스 (querydsl.username-index.enabled)
+ * DB의 like '%x%'는 인덱스를 못 타고 전체 스캔이므로, 메모리에서 후보 id를 찾고 DB는 id in (...)으로 조회만 한다.
+ * - 앞부분 일치 : 소문자로 바꾼 username 정렬 배열에서 이진 탐색
+ * - 부분 일치 : 3-gram -> row 목록(posting)에서 가장 짧은 목록만 훑으며 실제 포함 여부 확인 (2글자 이하는 전체 스캔)
+ * 대소문자는 구분하지 않는다.
+ *
+ * 갱신은 MemberSnapshotIndex와 같은 방식이다. (커밋된 변경은 deltas, 벌크/주기/deltas 초과 시 전체 재적재)
+ */
+@Slf4j
+@Component
+public class UsernameIndex implements AutoCloseable {
+
+    private static final int GRAM = 3;
+    private static final int FETCH_SIZE = 1000;
+    private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::key).thenComparingLong(Entry::id);
+
+    private final UsernameIndexProperties properties;
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate readOnlyTx;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile Base base = Base.EMPTY;
+    private volatile boolean ready;
+    private final Map<Long, Entry> deltas = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    public UsernameIndex(UsernameIndexProperties properties, EntityManager em, PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.queryFactory = new JPAQueryFactory(em);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "username-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return 첫 적재가 끝났으면 true (그 전에는 DB like 조회)
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return username 순(대소문자 무시) 최대 limit개의 회원 id
+     */
+    public List<Long> findByPrefix(String prefix, int limit) {
+        return find(normalize(prefix), true, limit);
+    }
+
+    public List<Long> findByContains(String fragment, int limit) {
+        return find(normalize(fragment), false, limit);
+    }
+
+    private List<Long> find(String key, boolean prefix, int limit) {
+        Base base = this.base;
+        List<Entry> matched = new ArrayList<>();
+        IntPredicate collect = row -> {
+            if (deltas.isEmpty() || !deltas.containsKey(base.ids[row])) { // 인덱스 이후 바뀐 회원은 deltas 기준
+                matched.add(new Entry(base.keys[row], base.ids[row], false, 0));
+            }
+            return matched.size() < limit;
+        };
+        if (prefix) {
+            base.forEachPrefixed(key, collect);
+        } else {
+            base.forEachContaining(key, collect);
+        }
+
+        if (!deltas.isEmpty()) {
+            for (Entry entry : deltas.values()) {
+                if (!entry.removed() && (prefix ? entry.key().startsWith(key) : entry.key().contains(key))) {
+                    matched.add(entry);
+                }
+            }
+            matched.sort(ORDER);
+        }
+        return matched.stream().limit(limit).map(Entry::id).toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        requestRebuild();
+        long interval = properties.rebuildInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::requestRebuild, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!properties.enabled() || !event.isAbout(Member.class)) {
+            return;
+        }
+        apply(event);
+    }
+
+    void apply(EntityChangedEvent event) {
+        if (event.changeType() == ChangeType.BULK) {
+            requestRebuild();
+            return;
+        }
+        Member changed = (Member) event.entity();
+        long seq = sequence.incrementAndGet();
+        if (event.changeType() == ChangeType.REMOVE || changed.getUsername() == null) {
+            deltas.put(changed.getId(), new Entry(null, changed.getId(), true, seq));
+        } else {
+            deltas.put(changed.getId(), new Entry(normalize(changed.getUsername()), changed.getId(), false, seq));
+        }
+        if (deltas.size() > properties.maxDeltas()) {
+            requestRebuild();
+        }
+    }
+
+    public void requestRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                rebuildPending.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("username index rebuild failed", e);
+                }
+            });
+        }
+    }
+
+    void rebuild() {
+        long startedAt = System.nanoTime();
+        long startSeq = sequence.get();
+        List<Entry> entries = new ArrayList<>(base.ids.length);
+        readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<Tuple> rows = queryFactory
+                    .select(member.id, member.username)
+                    .from(member)
+                    .where(member.username.isNotNull())
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .stream()) {
+                rows.forEach(row -> entries.add(new Entry(normalize(row.get(member.username)), row.get(member.id), false, 0)));
+            }
+        });
+        base = Base.build(entries);
+        deltas.values().removeIf(entry -> entry.seq() <= startSeq); // 재적재 시작 전에 커밋된 변경은 새 인덱스에 들어있다.
+        ready = true;
+        log.info("username index rebuilt: {} rows, {} ms", entries.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private static long gram(String key, int offset) {
+        return ((long) key.charAt(offset) << 32) | ((long) key.charAt(offset + 1) << 16) | key.charAt(offset + 2);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * key = 소문자 username (removed면 null)
+     */
+    private record Entry(String key, long id, boolean removed, long seq) {
+    }
+
+    /**
+     * 불변 인덱스. row = (key, id) 순으로 정렬한 위치
+     */
+    private static final class Base {
+
+        static final Base EMPTY = build(List.of());
+
+        final String[] keys;
+        final long[] ids;
+        private final Map<Long, int[]> postings;
+
+        private Base(String[] keys, long[] ids, Map<Long, int[]> postings) {
+            this.keys = keys;
+            this.ids = ids;
+            this.postings = postings;
+        }
+
+        static Base build(List<Entry> entries) {
+            List<Entry> sorted = new ArrayList<>(entries);
+            sorted.sort(ORDER);
+            String[] keys = new String[sorted.size()];
+            long[] ids = new long[sorted.size()];
+            Map<Long, Posting> grams = new HashMap<>();
+            for (int row = 0; row < keys.length; row++) {
+                keys[row] = sorted.get(row).key();
+                ids[row] = sorted.get(row).id();
+                for (int offset = 0; offset + GRAM <= keys[row].length(); offset++) {
+                    grams.computeIfAbsent(gram(keys[row], offset), g -> new Posting()).add(row);
+                }
+            }
+            Map<Long, int[]> postings = new HashMap<>(grams.size() * 2);
+            grams.forEach((gram, posting) -> postings.put(gram, posting.toArray()));
+            return new Base(keys, ids, postings);
+        }
+
+        /**
+         * 정렬 배열이므로 prefix로 시작하는 row는 연속 구간이다. visitor가 false를 반환하면 멈춘다.
+         */
+        void forEachPrefixed(String prefix, IntPredicate visitor) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            for (int row = low; row < keys.length && keys[row].startsWith(prefix); row++) {
+                if (!visitor.test(row)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * fragment의 3-gram 중 가장 짧은 posting만 훑으면서 실제 포함 여부를 확인한다. (row 순 = username 순)
+         */
+        void forEachContaining(String fragment, IntPredicate visitor) {
+            int[] candidates = null;
+            if (fragment.length() >= GRAM) {
+                for (int offset = 0; offset + GRAM <= fragment.length(); offset++) {
+                    int[] posting = postings.get(gram(fragment, offset));
+                    if (posting == null) {
+                        return;
+                    }
+                    if (candidates == null || posting.length < candidates.length) {
+                        candidates = posting;
+                    }
+                }
+            }
+            int size = candidates != null ? candidates.length : keys.length;
+            for (int i = 0; i < size; i++) {
+                int row = candidates != null ? candidates[i] : i;
+                if (keys[row].contains(fragment) && !visitor.test(row)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Posting {
+
+        private int[] rows = new int[4];
+        private int size;
+
+        void add(int row) {
+            if (size > 0 && rows[size - 1] == row) {
+                return; // 같은 username 안에서 반복되는 gram
+            }
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(rows, size);
+        }
+    }
+}
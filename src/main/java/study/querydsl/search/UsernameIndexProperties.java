@@ -0,0 +1,18 @@
+package study.querydsl.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param maxCandidates 인덱스에서 꺼내 DB로 넘기는(in 절) 최대 id 수
+ */
+@ConfigurationProperties("querydsl.username-index")
+public record UsernameIndexProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10m") Duration rebuildInterval,
+        @DefaultValue("10000") int maxDeltas,
+        @DefaultValue("1000") int maxCandidates
+) {
+}
@@ -0,0 +1,86 @@
+package study.querydsl.serializer;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * List<MemberTeamDto>, List<MemberDto> 응답을 MemberJsonWriter로 쓰는 컨버터 (응답 JSON은 Jackson과 같음)
+ * 컨트롤러는 그대로 List를 반환하고, 콘텐츠 협상으로 application/json이 선택되면 Jackson 컨버터보다 먼저 적용된다.
+ * 요청 본문 읽기는 지원하지 않는다. (Jackson 컨버터가 처리)
+ */
+public class MemberJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<?>> {
+
+    public MemberJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    /**
+     * 원소 타입을 알 수 없는 경우(제네릭 정보 없음)는 다른 컨버터에 맡긴다.
+     */
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return elementType(type) != null && canWrite(mediaType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(List<?> list, Type type, HttpOutputMessage outputMessage) throws IOException {
+        MemberJsonWriter writer = new MemberJsonWriter(outputMessage.getBody());
+        if (elementType(type) == MemberTeamDto.class) {
+            writer.writeMemberTeamArray((List<MemberTeamDto>) list);
+        } else {
+            writer.writeMemberArray((List<MemberDto>) list);
+        }
+        writer.flush();
+    }
+
+    @Override
+    public List<?> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is not supported", inputMessage);
+    }
+
+    @Override
+    protected List<?> readInternal(Class<? extends List<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is not supported", inputMessage);
+    }
+
+    private static Class<?> elementType(Type type) {
+        if (type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw && List.class.isAssignableFrom(raw)
+                && parameterized.getActualTypeArguments()[0] instanceof Class<?> element
+                && (element == MemberTeamDto.class || element == MemberDto.class)) {
+            return element;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,227 @@
+package study.querydsl.serializer;
+
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * MemberTeamDto, MemberDto 전용 JSON writer
+ * Jackson은 row마다 리플렉션으로 만든 BeanSerializer를 타고, 숫자/문자열을 String으로 만든 뒤 인코딩한다.
+ * 필드 구성이 고정된 DTO이므로 필드명은 미리 UTF-8 바이트로 만들어 두고, 숫자와 문자열은 내부 버퍼에 바로 인코딩한다. (row당 할당 없음)
+ * 출력은 Jackson 기본 설정과 같다. (필드 순서, null 표기, 이스케이프)
+ * 스레드 안전하지 않다. 응답 하나에 하나씩 만들어 쓴다.
+ */
+public final class MemberJsonWriter {
+
+    private static final byte[] MEMBER_ID = field("{\"memberId\":");
+    private static final byte[] USERNAME = field(",\"username\":");
+    private static final byte[] AGE = field(",\"age\":");
+    private static final byte[] TEAM_ID = field(",\"teamId\":");
+    private static final byte[] TEAM_NAME = field(",\"teamName\":");
+    private static final byte[] FIRST_USERNAME = field("{\"username\":");
+    private static final byte[] NULL = field("null");
+    private static final byte[] LONG_MIN = field(Long.toString(Long.MIN_VALUE));
+    private static final byte[] HEX = field("0123456789ABCDEF");
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_CHAR_BYTES = 6; // 유니코드 이스케이프 (역슬래시 + u + 16진수 4자리)
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    public MemberJsonWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    public void writeMemberTeamArray(List<MemberTeamDto> members) throws IOException {
+        writeByte('[');
+        for (int i = 0; i < members.size(); i++) {
+            if (i > 0) {
+                writeByte(',');
+            }
+            writeMemberTeam(members.get(i));
+        }
+        writeByte(']');
+    }
+
+    public void writeMemberArray(List<MemberDto> members) throws IOException {
+        writeByte('[');
+        for (int i = 0; i < members.size(); i++) {
+            if (i > 0) {
+                writeByte(',');
+            }
+            writeMember(members.get(i));
+        }
+        writeByte(']');
+    }
+
+    public void writeMemberTeam(MemberTeamDto dto) throws IOException {
+        writeBytes(MEMBER_ID);
+        writeLong(dto.getMemberId());
+        writeBytes(USERNAME);
+        writeString(dto.getUsername());
+        writeBytes(AGE);
+        writeLong(dto.getAge());
+        writeBytes(TEAM_ID);
+        writeLong(dto.getTeamId());
+        writeBytes(TEAM_NAME);
+        writeString(dto.getTeamName());
+        writeByte('}');
+    }
+
+    public void writeMember(MemberDto dto) throws IOException {
+        writeBytes(FIRST_USERNAME);
+        writeString(dto.getUsername());
+        writeBytes(AGE);
+        writeLong(dto.getAge());
+        writeByte('}');
+    }
+
+    /**
+     * NDJSON 구분자 등
+     */
+    public void writeByte(int b) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    /**
+     * 버퍼를 비우고 OutputStream도 flush 한다.
+     */
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (position + bytes.length > buffer.length) {
+            flushBuffer();
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeLong(Long value) throws IOException {
+        if (value == null) {
+            writeBytes(NULL);
+        } else {
+            writeLong(value.longValue());
+        }
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeBytes(LONG_MIN); // 음수로 바꾸면 넘친다.
+            return;
+        }
+        if (position + 20 > buffer.length) {
+            flushBuffer();
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = digits(value);
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position = end;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * 따옴표, 역슬래시, 제어 문자는 Jackson과 같은 방식으로 이스케이프하고 나머지는 UTF-8로 인코딩한다.
+     */
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writeBytes(NULL);
+            return;
+        }
+        writeByte('"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (position + MAX_CHAR_BYTES > buffer.length) {
+                flushBuffer();
+            }
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    buffer[position++] = (byte) c;
+                } else {
+                    escape(c);
+                }
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xc0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[position++] = (byte) (0xf0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                escapeUnicode(c); // 짝이 없는 surrogate는 UTF-8로 인코딩할 수 없으므로 Jackson과 같이 유니코드 이스케이프
+            } else {
+                buffer[position++] = (byte) (0xe0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buffer[position++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        writeByte('"');
+    }
+
+    private void escape(char c) {
+        switch (c) {
+            case '"' -> writeEscaped('"');
+            case '\\' -> writeEscaped('\\');
+            case '\n' -> writeEscaped('n');
+            case '\r' -> writeEscaped('r');
+            case '\t' -> writeEscaped('t');
+            case '\b' -> writeEscaped('b');
+            case '\f' -> writeEscaped('f');
+            default -> escapeUnicode(c);
+        }
+    }
+
+    private void writeEscaped(char c) {
+        buffer[position++] = '\\';
+        buffer[position++] = (byte) c;
+    }
+
+    private void escapeUnicode(char c) {
+        buffer[position++] = '\\';
+        buffer[position++] = 'u';
+        buffer[position++] = HEX[(c >> 12) & 0xf];
+        buffer[position++] = HEX[(c >> 8) & 0xf];
+        buffer[position++] = HEX[(c >> 4) & 0xf];
+        buffer[position++] = HEX[c & 0xf];
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static byte[] field(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
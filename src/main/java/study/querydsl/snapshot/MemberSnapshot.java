@@ -0,0 +1,186 @@
+package study.querydsl.snapshot;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 회원 검색용 컬럼 스냅샷 (불변)
+ * row i = id 순서로 i번째 회원. 컬럼마다 기본형 배열 하나씩 가진다.
+ * - ids, ages, teamIds (팀 없으면 0)
+ * - usernameCodes : username을 사전(usernames)의 번호로 인코딩
+ * - rowsByAge : age 순으로 정렬한 row 번호 (age 범위 조건을 이진 탐색으로 찾는다.)
+ * 팀 이름은 row마다 들고 있지 않고 teamId로 찾는다. (MemberSnapshotIndex의 팀 사전)
+ */
+final class MemberSnapshot {
+
+    static final MemberSnapshot EMPTY = new Builder(0).build();
+
+    final long[] ids;
+    final int[] ages;
+    final long[] teamIds;
+    final int[] usernameCodes;
+    final String[] usernames;
+    private final Map<String, Integer> usernameCodeOf;
+    private final int[] rowsByAge;
+    private final int[] sortedAges;
+
+    private MemberSnapshot(long[] ids, int[] ages, long[] teamIds, int[] usernameCodes, String[] usernames,
+                           Map<String, Integer> usernameCodeOf) {
+        this.ids = ids;
+        this.ages = ages;
+        this.teamIds = teamIds;
+        this.usernameCodes = usernameCodes;
+        this.usernames = usernames;
+        this.usernameCodeOf = usernameCodeOf;
+
+        this.rowsByAge = sortRowsByAge(ages);
+        this.sortedAges = new int[ages.length];
+        for (int i = 0; i < rowsByAge.length; i++) {
+            sortedAges[i] = ages[rowsByAge[i]];
+        }
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * @return 사전에 없으면 -1
+     */
+    int usernameCode(String username) {
+        return usernameCodeOf.getOrDefault(username, -1);
+    }
+
+    /**
+     * 조건에 맞는 row 번호 (오름차순 = id 순)
+     * age 범위가 있으면 rowsByAge에서 범위 구간만 읽고, 없으면 전체 row를 읽는다. 나머지 조건은 정수 비교로 거른다.
+     *
+     * @param usernameCode -1이면 조건 없음
+     * @param teamIds      null이면 조건 없음
+     */
+    int[] match(Integer ageGoe, Integer ageLoe, int usernameCode, long[] teamIds) {
+        boolean ageRange = ageGoe != null || ageLoe != null;
+        int from = ageGoe == null ? 0 : firstGreaterThan(ageGoe - 1L);
+        int to = ageLoe == null ? ids.length : firstGreaterThan(ageLoe);
+
+        int[] rows = new int[Math.max(0, to - from)];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int row = ageRange ? rowsByAge[i] : i;
+            if (usernameCode >= 0 && usernameCodes[row] != usernameCode) {
+                continue;
+            }
+            if (teamIds != null && !contains(teamIds, this.teamIds[row])) {
+                continue;
+            }
+            rows[count++] = row;
+        }
+        rows = Arrays.copyOf(rows, count);
+        if (ageRange) {
+            Arrays.sort(rows);
+        }
+        return rows;
+    }
+
+    private static boolean contains(long[] values, long value) {
+        for (long v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * sortedAges에서 value보다 큰 첫 위치
+     */
+    private int firstGreaterThan(long value) {
+        int low = 0;
+        int high = sortedAges.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedAges[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int[] sortRowsByAge(int[] ages) {
+        // age 값 범위가 좁으므로 (age, row)를 long 하나로 묶어서 기본형 정렬
+        long[] keys = new long[ages.length];
+        for (int row = 0; row < ages.length; row++) {
+            keys[row] = ((long) ages[row] << 32) | row;
+        }
+        Arrays.sort(keys);
+        int[] rows = new int[ages.length];
+        for (int i = 0; i < keys.length; i++) {
+            rows[i] = (int) keys[i];
+        }
+        return rows;
+    }
+
+    /**
+     * id 오름차순으로 add 해야 한다.
+     */
+    static final class Builder {
+
+        private long[] ids;
+        private int[] ages;
+        private long[] teamIds;
+        private int[] usernameCodes;
+        private final Map<String, Integer> usernameCodeOf = new HashMap<>();
+        private String[] usernames = new String[16];
+        private int size;
+
+        Builder(int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            ids = new long[capacity];
+            ages = new int[capacity];
+            teamIds = new long[capacity];
+            usernameCodes = new int[capacity];
+        }
+
+        void add(long id, String username, int age, Long teamId) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                ages = Arrays.copyOf(ages, capacity);
+                teamIds = Arrays.copyOf(teamIds, capacity);
+                usernameCodes = Arrays.copyOf(usernameCodes, capacity);
+            }
+            ids[size] = id;
+            ages[size] = age;
+            teamIds[size] = teamId != null ? teamId : 0;
+            usernameCodes[size] = encode(username);
+            size++;
+        }
+
+        private int encode(String username) {
+            Integer code = usernameCodeOf.get(username);
+            if (code == null) {
+                code = usernameCodeOf.size();
+                if (code == usernames.length) {
+                    usernames = Arrays.copyOf(usernames, code * 2);
+                }
+                usernames[code] = username;
+                usernameCodeOf.put(username, code);
+            }
+            return code;
+        }
+
+        MemberSnapshot build() {
+            return new MemberSnapshot(
+                    Arrays.copyOf(ids, size),
+                    Arrays.copyOf(ages, size),
+                    Arrays.copyOf(teamIds, size),
+                    Arrays.copyOf(usernameCodes, size),
+                    Arrays.copyOf(usernames, usernameCodeOf.size()),
+                    usernameCodeOf
+            );
+        }
+    }
+}
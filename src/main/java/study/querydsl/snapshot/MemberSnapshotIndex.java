@@ -0,0 +1,270 @@
+package study.querydsl.snapshot;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchKey;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.ChangeType;
+import study.querydsl.event.EntityChangedEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 회원 검색용 메모리 스냅샷 (querydsl.snapshot.enabled)
+ * 전체 회원을 MemberSnapshot(컬럼 배열)으로 한 번 적재해 두고, 커밋된 엔티티 변경은 deltas에 쌓아서 검색 시 덮어쓴다.
+ * - Member 저장/수정/삭제 : deltas에 변경 후 row(삭제면 removed)를 기록
+ * - Team 저장/수정/삭제 : 팀 이름 사전만 갱신 (row는 teamId만 들고 있으므로 팀 이름 변경이 바로 반영된다. 삭제는 재적재 때까지 tombstone)
+ * - 벌크 연산, deltas가 maxDeltas 초과, rebuildInterval 주기 : 전체 재적재
+ * 재적재를 시작한 뒤 커밋된 변경은 새 스냅샷에 없을 수 있으므로 deltas에 남겨둔다. (row 전체를 기록하므로 중복 적용해도 결과가 같다.)
+ */
+@Slf4j
+@Component
+public class MemberSnapshotIndex implements AutoCloseable {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final SnapshotProperties properties;
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate readOnlyTx;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile MemberSnapshot snapshot = MemberSnapshot.EMPTY;
+    private volatile boolean ready;
+    private final Map<Long, TeamName> teamNames = new ConcurrentHashMap<>();
+    private final Map<Long, Row> deltas = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    public MemberSnapshotIndex(SnapshotProperties properties, EntityManager em, PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.queryFactory = new JPAQueryFactory(em);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "member-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return 첫 적재가 끝났으면 true (그 전에는 DB를 조회해야 한다.)
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    /**
+     * 재적재 횟수 (ETag처럼 결과가 바뀌었는지 판단할 때 데이터 버전과 같이 쓴다. 재적재는 변경 이벤트보다 늦게 끝난다.)
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * MemberRepositoryCustom.search와 같은 조건, 결과는 member.id 순
+     */
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        MemberSearchKey key = MemberSearchKey.of(condition);
+        MemberSnapshot snapshot = this.snapshot;
+        long[] teamIds = key.teamName() != null ? teamIdsNamed(key.teamName()) : null;
+        int usernameCode = key.username() != null ? snapshot.usernameCode(key.username()) : -1;
+
+        List<MemberTeamDto> result = new ArrayList<>();
+        if (key.username() == null || usernameCode >= 0) { // 사전에 없는 username이면 스냅샷에는 결과가 없다.
+            for (int row : snapshot.match(key.ageGoe(), key.ageLoe(), usernameCode, teamIds)) {
+                long id = snapshot.ids[row];
+                if (!deltas.isEmpty() && deltas.containsKey(id)) {
+                    continue; // 스냅샷 이후 바뀐 row는 deltas 기준
+                }
+                result.add(toDto(id, snapshot.usernames[snapshot.usernameCodes[row]], snapshot.ages[row], snapshot.teamIds[row]));
+            }
+        }
+
+        if (!deltas.isEmpty()) {
+            for (Row row : deltas.values()) {
+                if (!row.removed() && row.matches(key, teamIds)) {
+                    result.add(toDto(row.id(), row.username(), row.age(), row.teamId()));
+                }
+            }
+            result.sort(Comparator.comparing(MemberTeamDto::getMemberId));
+        }
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        requestRebuild();
+        long interval = properties.rebuildInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::requestRebuild, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 커밋된 변경만 반영한다. (트랜잭션 밖에서 발행된 벌크 이벤트는 바로)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!properties.enabled() || !event.isAbout(Member.class, Team.class)) {
+            return;
+        }
+        apply(event);
+    }
+
+    void apply(EntityChangedEvent event) {
+        if (event.changeType() == ChangeType.BULK) {
+            requestRebuild();
+            return;
+        }
+        if (event.entity() instanceof Team changed) {
+            long seq = sequence.incrementAndGet();
+            String name = event.changeType() == ChangeType.REMOVE ? null : changed.getName();
+            teamNames.put(changed.getId(), new TeamName(name, seq));
+            return;
+        }
+        if (event.entity() instanceof Member changed) {
+            long seq = sequence.incrementAndGet();
+            if (event.changeType() == ChangeType.REMOVE) {
+                deltas.put(changed.getId(), Row.removed(changed.getId(), seq));
+            } else {
+                // 프록시여도 getId()는 초기화하지 않는다. (커밋 후라 영속성 컨텍스트가 닫혀 있을 수 있음)
+                Long teamId = changed.getTeam() != null ? changed.getTeam().getId() : null;
+                deltas.put(changed.getId(), new Row(changed.getId(), changed.getUsername(), changed.getAge(),
+                        teamId != null ? teamId : 0, false, seq));
+            }
+            if (deltas.size() > properties.maxDeltas()) {
+                requestRebuild();
+            }
+        }
+    }
+
+    /**
+     * 이미 예약된 재적재가 있으면 합친다.
+     */
+    public void requestRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                rebuildPending.set(false);
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("member snapshot rebuild failed", e);
+                }
+            });
+        }
+    }
+
+    void rebuild() {
+        long startedAt = System.nanoTime();
+        long startSeq = sequence.get();
+        readOnlyTx.executeWithoutResult(status -> {
+            Map<Long, TeamName> loaded = new HashMap<>();
+            for (Tuple tuple : queryFactory.select(team.id, team.name).from(team).fetch()) {
+                loaded.put(tuple.get(team.id), new TeamName(tuple.get(team.name), 0));
+            }
+            // 재적재 시작 후에 커밋된 팀 변경(삭제 tombstone 포함)은 남기고, 나머지는 DB 기준으로 맞춘다. (벌크 삭제된 팀 제거)
+            loaded.forEach((id, name) -> teamNames.merge(id, name, (current, db) -> current.seq() > startSeq ? current : db));
+            teamNames.entrySet().removeIf(entry -> entry.getValue().seq() <= startSeq && !loaded.containsKey(entry.getKey()));
+
+            MemberSnapshot.Builder builder = new MemberSnapshot.Builder(snapshot.size());
+            try (Stream<Tuple> rows = queryFactory
+                    .select(member.id, member.username, member.age, member.team.id) // team.id는 FK 컬럼이라 조인 없음
+                    .from(member)
+                    .orderBy(member.id.asc())
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .stream()) {
+                rows.forEach(row -> builder.add(row.get(member.id), row.get(member.username),
+                        row.get(member.age), row.get(member.team.id)));
+            }
+            snapshot = builder.build();
+        });
+        deltas.values().removeIf(row -> row.seq() <= startSeq); // 재적재 시작 전에 커밋된 변경은 새 스냅샷에 들어있다.
+        ready = true;
+        generation.incrementAndGet();
+        log.info("member snapshot rebuilt: {} rows, {} ms", snapshot.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    boolean hasTeam(long teamId) {
+        TeamName teamName = teamNames.get(teamId);
+        return teamName != null && teamName.name() != null;
+    }
+
+    private long[] teamIdsNamed(String teamName) {
+        return teamNames.entrySet().stream()
+                .filter(entry -> teamName.equals(entry.getValue().name()))
+                .mapToLong(Map.Entry::getKey)
+                .toArray();
+    }
+
+    private MemberTeamDto toDto(long id, String username, int age, long teamId) {
+        if (teamId == 0) {
+            return new MemberTeamDto(id, username, age, null, null);
+        }
+        TeamName teamName = teamNames.get(teamId);
+        return new MemberTeamDto(id, username, age, teamId, teamName != null ? teamName.name() : null);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 팀 이름 사전 값 (name null = 삭제된 팀, seq 0 = 재적재로 읽은 값)
+     */
+    private record TeamName(String name, long seq) {
+    }
+
+    /**
+     * 스냅샷 이후 커밋된 회원 row (teamId 0 = 팀 없음)
+     */
+    private record Row(long id, String username, int age, long teamId, boolean removed, long seq) {
+
+        static Row removed(long id, long seq) {
+            return new Row(id, null, 0, 0, true, seq);
+        }
+
+        boolean matches(MemberSearchKey key, long[] teamIds) {
+            return (key.username() == null || key.username().equals(username))
+                    && (teamIds == null || Arrays.stream(teamIds).anyMatch(teamId -> teamId == this.teamId))
+                    && (key.ageGoe() == null || age >= key.ageGoe())
+                    && (key.ageLoe() == null || age <= key.ageLoe());
+        }
+    }
+}
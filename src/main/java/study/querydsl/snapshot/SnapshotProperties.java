@@ -0,0 +1,18 @@
+package study.querydsl.snapshot;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param rebuildInterval 전체 재적재 주기 (엔티티 리스너를 거치지 않은 변경 보정)
+ * @param maxDeltas       스냅샷 이후 쌓인 변경 수가 이보다 많으면 다시 만든다.
+ */
+@ConfigurationProperties("querydsl.snapshot")
+public record SnapshotProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10m") Duration rebuildInterval,
+        @DefaultValue("10000") int maxDeltas
+) {
+}
@@ -0,0 +1,14 @@
+package study.querydsl.stats;
+
+import study.querydsl.entity.Member;
+
+/**
+ * 팀 통계에 반영되는 회원 값 (팀이 없으면 teamId = null)
+ */
+public record AgeSample(Long teamId, int age) {
+
+    public static AgeSample of(Member member) {
+        // 프록시여도 getId()는 초기화하지 않는다.
+        return new AgeSample(member.getTeam() != null ? member.getTeam().getId() : null, member.getAge());
+    }
+}
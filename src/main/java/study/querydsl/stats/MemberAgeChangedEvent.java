@@ -0,0 +1,7 @@
+package study.querydsl.stats;
+
+/**
+ * 회원 저장(before = null), 삭제(after = null), 나이/팀 변경
+ */
+public record MemberAgeChangedEvent(AgeSample before, AgeSample after) {
+}
@@ -0,0 +1,59 @@
+package study.querydsl.stats;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 팀 하나의 나이 집계
+ * 삭제/변경 시 max, min을 다시 구할 수 있도록 나이별 인원수(ageCounts)를 들고 있다. (나이 종류만큼의 크기)
+ */
+class TeamAgeStats {
+
+    private final TreeMap<Integer, Long> ageCounts = new TreeMap<>();
+    private long count;
+    private long sum;
+
+    synchronized void add(int age, long members) {
+        ageCounts.merge(age, members, Long::sum);
+        count += members;
+        sum += (long) age * members;
+    }
+
+    synchronized void remove(int age) {
+        Long members = ageCounts.get(age);
+        if (members == null) {
+            return; // 통계에 없는 값 (재집계 전 벌크 변경 등) - 다음 재집계에서 맞춰진다.
+        }
+        if (members == 1) {
+            ageCounts.remove(age);
+        } else {
+            ageCounts.put(age, members - 1);
+        }
+        count--;
+        sum -= age;
+    }
+
+    synchronized Snapshot snapshot() {
+        if (count == 0) {
+            return new Snapshot(0, 0, null, null, null);
+        }
+        return new Snapshot(count, sum, (double) sum / count, ageCounts.lastKey(), ageCounts.firstKey());
+    }
+
+    synchronized boolean sameAs(TeamAgeStats other) {
+        return count == other.count && sum == other.sum && ageCounts.equals(other.ageCounts);
+    }
+
+    synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    record Snapshot(long count, long sum, Double avg, Integer max, Integer min) {
+    }
+
+    static TeamAgeStats of(Map<Integer, Long> ageCounts) {
+        TeamAgeStats stats = new TeamAgeStats();
+        ageCounts.forEach(stats::add);
+        return stats;
+    }
+}
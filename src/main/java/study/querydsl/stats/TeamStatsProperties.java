@@ -0,0 +1,16 @@
+package study.querydsl.stats;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param reconcileInterval DB 집계로 다시 맞추는 주기 (엔티티 리스너를 거치지 않은 변경 보정)
+ */
+@ConfigurationProperties("querydsl.team-stats")
+public record TeamStatsProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("5m") Duration reconcileInterval
+) {
+}
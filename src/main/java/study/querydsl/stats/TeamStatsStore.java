@@ -0,0 +1,229 @@
+package study.querydsl.stats;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.TeamStatsDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.ChangeType;
+import study.querydsl.event.EntityChangedEvent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/**
+ * 팀별 나이 통계 (count, sum, avg, max, min) 저장소 (querydsl.team-stats.enabled)
+ * 매번 member 전체를 group by 하지 않고, 커밋된 회원 변경(MemberAgeChangedEvent)만큼 증분 갱신한다.
+ * 벌크 연산은 엔티티 리스너를 거치지 않으므로 BULK 이벤트와 reconcileInterval 주기마다 DB 집계로 다시 맞춘다.
+ * 재집계 쿼리와 동시에 커밋된 변경은 중복/누락될 수 있지만 다음 재집계에서 맞춰진다.
+ */
+@Slf4j
+@Component
+public class TeamStatsStore implements AutoCloseable {
+
+    private final TeamStatsProperties properties;
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate readOnlyTx;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile Map<Long, TeamAgeStats> stats = new ConcurrentHashMap<>();
+    private final Map<Long, String> teamNames = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    private final AtomicBoolean reconcilePending = new AtomicBoolean();
+
+    public TeamStatsStore(TeamStatsProperties properties, EntityManager em, PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.queryFactory = new JPAQueryFactory(em);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "team-stats-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 회원이 있는 팀만, 팀 이름 순
+     * 저장소가 꺼져 있거나 첫 집계 전이면 DB에서 바로 집계한다.
+     */
+    public List<TeamStatsDto> findAll() {
+        if (!properties.enabled() || !ready) {
+            return aggregateFromDatabase();
+        }
+        List<TeamStatsDto> result = new ArrayList<>();
+        stats.forEach((teamId, teamStats) -> {
+            TeamAgeStats.Snapshot snapshot = teamStats.snapshot();
+            if (snapshot.count() > 0) {
+                result.add(new TeamStatsDto(teamId, teamNames.get(teamId), snapshot.count(), snapshot.sum(),
+                        snapshot.avg(), snapshot.max(), snapshot.min()));
+            }
+        });
+        result.sort(Comparator.comparing(TeamStatsDto::getTeamName, Comparator.nullsLast(Comparator.naturalOrder())));
+        return result;
+    }
+
+    /**
+     * QuerydslBasicTest.group()과 같은 집계 (member 전체 스캔)
+     */
+    public List<TeamStatsDto> aggregateFromDatabase() {
+        return readOnlyTx.execute(status -> queryFactory
+                .select(team.id, team.name, member.count(), member.age.sum(), member.age.avg(), member.age.max(), member.age.min())
+                .from(member)
+                .join(member.team, team)
+                .groupBy(team.id, team.name)
+                .orderBy(team.name.asc())
+                .fetch()
+                .stream()
+                .map(tuple -> new TeamStatsDto(
+                        tuple.get(team.id),
+                        tuple.get(team.name),
+                        tuple.get(2, Number.class).longValue(),
+                        tuple.get(3, Number.class).longValue(), // sum(int)은 하이버네이트에서 Long으로 나오므로 Number로 받는다.
+                        tuple.get(4, Number.class).doubleValue(),
+                        tuple.get(5, Number.class).intValue(),
+                        tuple.get(6, Number.class).intValue()))
+                .toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        requestReconcile();
+        long interval = properties.reconcileInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::requestReconcile, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 커밋된 변경만 반영한다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMemberAgeChanged(MemberAgeChangedEvent event) {
+        if (properties.enabled()) {
+            apply(event);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!properties.enabled() || !event.isAbout(Member.class, Team.class)) {
+            return;
+        }
+        if (event.changeType() == ChangeType.BULK) {
+            requestReconcile();
+        } else if (event.entity() instanceof Team changed) {
+            if (event.changeType() == ChangeType.REMOVE) {
+                teamNames.remove(changed.getId());
+            } else {
+                teamNames.put(changed.getId(), changed.getName());
+            }
+        }
+    }
+
+    void apply(MemberAgeChangedEvent event) {
+        Map<Long, TeamAgeStats> stats = this.stats;
+        if (event.before() != null && event.before().teamId() != null) {
+            TeamAgeStats before = stats.get(event.before().teamId());
+            if (before != null) {
+                before.remove(event.before().age());
+            }
+        }
+        if (event.after() != null && event.after().teamId() != null) {
+            stats.computeIfAbsent(event.after().teamId(), teamId -> new TeamAgeStats()).add(event.after().age(), 1);
+        }
+    }
+
+    /**
+     * 이미 예약된 재집계가 있으면 합친다.
+     */
+    public void requestReconcile() {
+        if (reconcilePending.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                reconcilePending.set(false);
+                try {
+                    reconcile();
+                } catch (RuntimeException e) {
+                    log.warn("team stats reconcile failed", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * 팀, 나이별 인원수를 DB에서 다시 집계해서 통째로 교체한다.
+     *
+     * @return 증분 값과 달랐던 팀 수
+     */
+    int reconcile() {
+        Map<Long, TeamAgeStats> loaded = readOnlyTx.execute(status -> {
+            for (Tuple tuple : queryFactory.select(team.id, team.name).from(team).fetch()) {
+                teamNames.put(tuple.get(team.id), tuple.get(team.name));
+            }
+
+            Map<Long, Map<Integer, Long>> ageCounts = new HashMap<>();
+            List<Tuple> rows = queryFactory
+                    .select(member.team.id, member.age, member.count())
+                    .from(member)
+                    .where(member.team.isNotNull())
+                    .groupBy(member.team.id, member.age)
+                    .fetch();
+            for (Tuple row : rows) {
+                ageCounts.computeIfAbsent(row.get(member.team.id), teamId -> new TreeMap<>())
+                        .put(row.get(member.age), row.get(member.count()));
+            }
+
+            Map<Long, TeamAgeStats> result = new ConcurrentHashMap<>();
+            ageCounts.forEach((teamId, counts) -> result.put(teamId, TeamAgeStats.of(counts)));
+            return result;
+        });
+
+        int drifted = 0;
+        Map<Long, TeamAgeStats> current = this.stats;
+        for (Map.Entry<Long, TeamAgeStats> entry : loaded.entrySet()) {
+            TeamAgeStats before = current.get(entry.getKey());
+            if (before == null || !before.sameAs(entry.getValue())) {
+                drifted++;
+            }
+        }
+        for (Map.Entry<Long, TeamAgeStats> entry : current.entrySet()) {
+            if (!loaded.containsKey(entry.getKey()) && !entry.getValue().isEmpty()) {
+                drifted++;
+            }
+        }
+
+        this.stats = loaded;
+        if (ready && drifted > 0) {
+            log.info("team stats reconciled: {} teams drifted", drifted);
+        }
+        ready = true;
+        return drifted;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
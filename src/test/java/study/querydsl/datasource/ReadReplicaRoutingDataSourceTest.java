@@ -0,0 +1,70 @@
+package study.querydsl.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    DataSource primary = h2("primary");
+    DataSource replica1 = h2("replica1");
+    DataSource replica2 = h2("replica2");
+    DataSource deadReplica = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/dead", "sa", "");
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void writeGoesToPrimary() throws SQLException {
+        ReadReplicaRoutingDataSource dataSource = routing(List.of(replica1, replica2));
+
+        assertThat(urlOf(dataSource)).contains("primary");
+    }
+
+    @Test
+    void readOnlyRoundRobin() throws SQLException {
+        ReadReplicaRoutingDataSource dataSource = routing(List.of(replica1, replica2));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(List.of(urlOf(dataSource), urlOf(dataSource), urlOf(dataSource)))
+                .satisfiesExactly(
+                        url -> assertThat(url).contains("replica1"),
+                        url -> assertThat(url).contains("replica2"),
+                        url -> assertThat(url).contains("replica1"));
+    }
+
+    @Test
+    void fallbackToPrimaryWhenReplicaIsDown() throws SQLException {
+        ReadReplicaRoutingDataSource dataSource = routing(List.of(deadReplica));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(urlOf(dataSource)).contains("primary");
+        assertThat(urlOf(dataSource)).contains("primary"); // 내려간 레플리카는 건너뛴다.
+    }
+
+    private ReadReplicaRoutingDataSource routing(List<DataSource> replicas) {
+        ReplicaPool pool = new ReplicaPool(replicas, RoutingDataSourceProperties.Balance.ROUND_ROBIN, Duration.ofHours(1));
+        return new ReadReplicaRoutingDataSource(primary, pool);
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static String urlOf(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getURL();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package study.querydsl.entity;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 테스트 설정(src/test/resources/application.yml)에는 2차 캐시가 없으므로 운영 설정과 같게 켠다.
+ * 캐시는 커밋 시점에 채워지므로 테스트 트랜잭션(@Transactional)을 쓰지 않고 단계마다 커밋한다.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=fail",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SecondLevelCacheTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    EntityManagerFactory emf;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    TransactionTemplate tx;
+    Statistics statistics;
+    Long teamId;
+    Long memberId;
+
+    @BeforeEach
+    void before() {
+        tx = new TransactionTemplate(transactionManager);
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        tx.executeWithoutResult(status -> {
+            Team team = new Team("teamA");
+            Member member = new Member("member1", 10, team);
+            em.persist(team);
+            em.persist(member);
+            teamId = team.getId();
+            memberId = member.getId();
+        });
+        emf.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void after() {
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+        emf.getCache().evictAll();
+    }
+
+    @Test
+    void findFromCache() {
+        load(); // miss -> put
+        load(); // hit
+
+        assertThat(region("member").getHitCount()).isEqualTo(1);
+        assertThat(region("team").getHitCount()).isEqualTo(1);
+    }
+
+    /**
+     * 벌크 update는 영속성 컨텍스트와 2차 캐시를 거치지 않으므로, 하이버네이트가 member 리전을 비워야 다음 조회에 새 값이 보인다.
+     */
+    @Test
+    void bulkUpdateEvictsRegion() {
+        load();
+
+        long updated = tx.execute(status -> new JPAQueryFactory(em)
+                .update(member)
+                .set(member.age, 20)
+                .where(member.id.eq(memberId))
+                .execute());
+        assertThat(updated).isEqualTo(1);
+
+        long memberMisses = region("member").getMissCount();
+        long teamHits = region("team").getHitCount();
+        Member found = tx.execute(status -> em.find(Member.class, memberId));
+
+        assertThat(found.getAge()).isEqualTo(20);
+        assertThat(region("member").getMissCount()).isEqualTo(memberMisses + 1);
+        assertThat(region("member").getHitCount()).isZero();
+
+        tx.executeWithoutResult(status -> em.find(Team.class, teamId));
+        assertThat(region("team").getHitCount()).isEqualTo(teamHits + 1); // 영향 없는 리전은 그대로
+    }
+
+    private void load() {
+        tx.executeWithoutResult(status -> {
+            em.find(Member.class, memberId);
+            em.find(Team.class, teamId);
+        });
+    }
+
+    private CacheRegionStatistics region(String name) {
+        return statistics.getDomainDataRegionStatistics(name);
+    }
+}
@@ -0,0 +1,74 @@
+package study.querydsl.export;
+
+import org.junit.jupiter.api.Test;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberExportWriterTest {
+
+    List<MemberTeamDto> members = List.of(
+            new MemberTeamDto(1L, "member1", 10, 1L, "teamA"),
+            new MemberTeamDto(2L, null, 0, null, null),
+            new MemberTeamDto(Long.MIN_VALUE, "a,\"b\"\r\nc", -1, Long.MAX_VALUE, "회원 😀"),
+            new MemberTeamDto(3L, "x".repeat(100_000), Integer.MAX_VALUE, 0L, "") // 버퍼보다 큰 값
+    );
+
+    @Test
+    void csv() throws Exception {
+        String csv = new String(export(ExportFormat.CSV), StandardCharsets.UTF_8);
+
+        assertThat(csv).isEqualTo("member_id,username,age,team_id,team_name\r\n"
+                + "1,member1,10,1,teamA\r\n"
+                + "2,,0,,\r\n"
+                + "-9223372036854775808,\"a,\"\"b\"\"\r\nc\",-1,9223372036854775807,회원 😀\r\n"
+                + "3," + "x".repeat(100_000) + ",2147483647,0,\r\n");
+    }
+
+    @Test
+    void binaryRoundTrip() throws Exception {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(export(ExportFormat.BINARY)));
+        assertThat(in.readNBytes(4)).isEqualTo(BinaryMemberExportWriter.MAGIC);
+        assertThat(in.readInt()).isEqualTo(BinaryMemberExportWriter.VERSION);
+
+        List<MemberTeamDto> read = new ArrayList<>();
+        while (in.available() > 0) {
+            int length = in.readInt();
+            int before = in.available();
+            long memberId = in.readLong();
+            int age = in.readInt();
+            long teamId = in.readLong();
+            String username = readString(in);
+            String teamName = readString(in);
+            assertThat(before - in.available()).isEqualTo(length);
+            read.add(new MemberTeamDto(memberId, username, age, teamId == -1 ? null : teamId, teamName));
+        }
+
+        assertThat(read).isEqualTo(members);
+    }
+
+    private byte[] export(ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MemberExportWriter writer = format.writer(Channels.newChannel(out));
+        writer.writeHeader();
+        for (MemberTeamDto member : members) {
+            writer.write(member);
+        }
+        writer.finish();
+        return out.toByteArray();
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        return length < 0 ? null : new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,106 @@
+package study.querydsl.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdLimiterTest {
+
+    static final long FAST = Duration.ofMillis(10).toNanos();
+    static final long SLOW = Duration.ofMillis(500).toNanos();
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    AtomicLong now = new AtomicLong();
+    AimdLimiter limiter = new AimdLimiter("test",
+            new ConcurrencyLimitProperties.Limit(4, 2, 6, Duration.ofMillis(100), 0.5), meterRegistry, now::get);
+
+    @Test
+    void rejectOverLimit() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(meterRegistry.get("http.server.concurrency.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.server.concurrency.inflight").gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    void increaseWhenBusyAndFast() {
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+        limiter.release(FAST, false);
+
+        assertThat(limiter.limit()).isEqualTo(5);
+    }
+
+    @Test
+    void keepLimitWhenIdle() {
+        limiter.tryAcquire();
+        limiter.release(FAST, false);
+
+        assertThat(limiter.limit()).isEqualTo(4);
+    }
+
+    @Test
+    void decreaseWhenSlowOrFailed() {
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+        assertThat(limiter.limit()).isEqualTo(2);
+
+        now.addAndGet(Duration.ofMillis(100).toNanos());
+        limiter.tryAcquire();
+        limiter.release(FAST, true);
+        assertThat(limiter.limit()).isEqualTo(2); // minLimit
+        assertThat(meterRegistry.get("http.server.concurrency.limit").gauge().value()).isEqualTo(2);
+    }
+
+    /**
+     * 처리 중이던 요청이 한꺼번에 느리게 끝나도 latencyThreshold 안에서는 한 번만 줄인다.
+     */
+    @Test
+    void decreaseOncePerWindow() throws Exception {
+        AimdLimiter limiter = new AimdLimiter("burst",
+                new ConcurrencyLimitProperties.Limit(40, 4, 400, Duration.ofMillis(50), 0.9), meterRegistry, now::get);
+        for (int i = 0; i < 40; i++) {
+            limiter.tryAcquire();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> releases = IntStream.range(0, 40)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        limiter.release(SLOW, false);
+                        return null;
+                    }))
+                    .toList();
+            start.countDown();
+            for (Future<?> release : releases) {
+                release.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(limiter.limit()).isEqualTo(36); // 0.9^40 -> minLimit가 아니라 40 x 0.9
+        assertThat(limiter.inFlight()).isZero();
+
+        now.addAndGet(Duration.ofMillis(50).toNanos());
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+        assertThat(limiter.limit()).isEqualTo(32); // 다음 구간에는 다시 줄인다.
+    }
+}
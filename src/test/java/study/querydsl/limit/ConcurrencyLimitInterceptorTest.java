@@ -0,0 +1,104 @@
+package study.querydsl.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ConcurrencyLimitInterceptorTest {
+
+    ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(
+            new ConcurrencyLimitProperties(true, Map.of("test",
+                    new ConcurrencyLimitProperties.Limit(1, 1, 1, Duration.ofSeconds(1), 0.5))),
+            new SimpleMeterRegistry());
+
+    LimitedController controller = new LimitedController();
+    MockMvc mockMvc;
+    AimdLimiter limiter;
+
+    @BeforeEach
+    void before() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .addInterceptors(interceptor)
+                .build();
+        limiter = interceptor.limiterOf(new HandlerMethod(controller, "limited"));
+    }
+
+    @Test
+    void rejectWithRetryAfter() throws Exception {
+        limiter.tryAcquire(); // 다른 요청이 한도(1)를 쓰는 중
+
+        mockMvc.perform(get("/limited"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+
+        assertThat(limiter.inFlight()).isEqualTo(1); // 거절된 요청은 반납하지 않는다.
+    }
+
+    @Test
+    void releaseAfterCompletion() throws Exception {
+        mockMvc.perform(get("/limited")).andExpect(status().isOk());
+        mockMvc.perform(get("/limited")).andExpect(status().isOk());
+
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void errorDispatchWithOtherHandler() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HandlerMethod limited = new HandlerMethod(controller, "limited");
+        HandlerMethod error = new HandlerMethod(controller, "error"); // /error 디스패치 (BasicErrorController 자리)
+
+        interceptor.preHandle(request, response, limited);
+        interceptor.afterCompletion(request, response, limited, new IllegalStateException("db"));
+        response.setStatus(500);
+        interceptor.preHandle(request, response, error);
+        interceptor.afterCompletion(request, response, error, null);
+
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void releaseOnErrorDispatchOnly() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HandlerMethod error = new HandlerMethod(controller, "error");
+
+        interceptor.preHandle(request, response, new HandlerMethod(controller, "limited"));
+        response.setStatus(500);
+        interceptor.afterCompletion(request, response, error, null); // 핸들러가 달라도 획득한 limiter를 반납
+
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(limiter.limit()).isEqualTo(1);
+    }
+
+    @RestController
+    static class LimitedController {
+
+        @ConcurrencyLimited("test")
+        @GetMapping("/limited")
+        public String limited() {
+            return "ok";
+        }
+
+        @GetMapping("/error")
+        public String error() {
+            return "error";
+        }
+    }
+}
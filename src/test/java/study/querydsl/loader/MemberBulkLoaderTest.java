@@ -0,0 +1,81 @@
+package study.querydsl.loader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 적재는 청크마다 커밋되므로 테스트 트랜잭션(@Transactional)을 쓰지 않고 직접 정리한다.
+ */
+@SpringBootTest
+class MemberBulkLoaderTest {
+
+    @Autowired
+    MemberBulkLoader memberBulkLoader;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void after() {
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+    }
+
+    @Test
+    void load() {
+        BulkLoadResult result = memberBulkLoader.load(new BulkLoadProperties(120, 3, 25, 1));
+
+        assertThat(result.rows()).isEqualTo(120);
+        assertThat(count("select count(*) from member")).isEqualTo(120);
+        assertThat(count("select count(*) from team")).isEqualTo(3);
+        assertThat(count("select count(*) from member where team_id is null")).isZero();
+    }
+
+    /**
+     * 블록 단위로 받은 id 구간이 하이버네이트 pooled optimizer가 쓰는 구간과 겹치지 않아야 한다. (겹치면 PK 위반)
+     */
+    @Test
+    void idsDoNotOverlapWithJpa() {
+        persistWithJpa(60);
+        memberBulkLoader.load(new BulkLoadProperties(120, 3, 25, 1));
+        persistWithJpa(60);
+
+        assertUniqueIds(240);
+    }
+
+    @Test
+    void multiplePartitions() {
+        memberBulkLoader.load(new BulkLoadProperties(250, 4, 20, 3));
+        persistWithJpa(60);
+
+        assertUniqueIds(310);
+        assertThat(jdbcTemplate.queryForList("select username from member where username like 'member%'", String.class))
+                .doesNotHaveDuplicates();
+    }
+
+    private void persistWithJpa(int rows) {
+        memberRepository.saveAll(IntStream.range(0, rows)
+                .mapToObj(i -> new Member("jpa" + i, i))
+                .toList());
+    }
+
+    private void assertUniqueIds(int expected) {
+        List<Long> ids = jdbcTemplate.queryForList("select member_id from member", Long.class);
+        assertThat(ids).hasSize(expected).doesNotHaveDuplicates();
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,52 @@
+package study.querydsl.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.MemberJpaRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class RepositoryMetricsAspectTest {
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void recordSuccess() {
+        memberJpaRepository.save(new Member("member1", 10));
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("member1");
+
+        memberJpaRepository.search(condition);
+
+        Timer timer = meterRegistry.get("repository.query")
+                .tags("method", "MemberJpaRepository.search", "shape", "username", "outcome", "SUCCESS", "exception", "none")
+                .timer();
+        assertThat(timer.count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("repository.rows")
+                .tags("method", "MemberJpaRepository.search", "shape", "username")
+                .summary().totalAmount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void recordFailure() {
+        assertThatThrownBy(() -> memberJpaRepository.findById(null)).isInstanceOf(RuntimeException.class);
+
+        Timer timer = meterRegistry.get("repository.query")
+                .tags("method", "MemberJpaRepository.findById", "outcome", "ERROR")
+                .timer();
+        assertThat(timer.count()).isGreaterThanOrEqualTo(1);
+        assertThat(timer.getId().getTag("exception")).isNotEqualTo("none");
+    }
+}
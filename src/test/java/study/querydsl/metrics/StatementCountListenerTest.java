@@ -0,0 +1,70 @@
+package study.querydsl.metrics;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class StatementCountListenerTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Test
+    void detectNPlusOne() {
+        for (int i = 0; i < 11; i++) {
+            Team team = new Team("team" + i);
+            em.persist(team);
+            em.persist(new Member("member" + i, i, team));
+        }
+        em.flush();
+        em.clear();
+
+        List<Member> members = em.createQuery("select m from Member m", Member.class)
+                .getResultList();
+
+        // fetch join 없이 팀 이름을 꺼내면 팀 수만큼 select가 반복된다. (임계치 10)
+        assertThatThrownBy(() -> members.forEach(m -> m.getTeam().getName()))
+                .satisfies(e -> assertThat(causes(e)).hasAtLeastOneElementOfType(RepeatedStatementException.class));
+    }
+
+    @Test
+    void fetchJoinIsNotRepeated() {
+        for (int i = 0; i < 11; i++) {
+            Team team = new Team("team" + i);
+            em.persist(team);
+            em.persist(new Member("member" + i, i, team));
+        }
+        em.flush();
+        em.clear();
+
+        int before = StatementScope.current().total(); // 위의 insert 제외
+
+        assertThatCode(() -> em.createQuery("select m from Member m join fetch m.team", Member.class)
+                .getResultList()
+                .forEach(m -> m.getTeam().getName()))
+                .doesNotThrowAnyException();
+
+        assertThat(StatementScope.current().total() - before).isEqualTo(1); // 팀까지 select 한 번
+    }
+
+    private static List<Throwable> causes(Throwable e) {
+        List<Throwable> causes = new ArrayList<>();
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            causes.add(t);
+        }
+        return causes;
+    }
+}
@@ -11,6 +11,7 @@ import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -81,4 +82,66 @@ class MemberJpaRepositoryTest {
 
         assertThat(result).extracting("username").containsExactly("member4");
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchStreamTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 0; i < 10; i++) {
+            em.persist(new Member("member" + i, i, teamA));
+        }
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(5);
+
+        List<String> usernames = new ArrayList<>();
+        long count = memberJpaRepository.searchStream(condition, dto -> usernames.add(dto.getUsername()));
+
+        assertThat(count).isEqualTo(5);
+        assertThat(usernames).containsExactlyInAnyOrder("member5", "member6", "member7", "member8", "member9");
+    }
+
+    /**
+     * 호출한 쪽 트랜잭션의 엔티티는 스트리밍 중에도 영속 상태로 남는다.
+     */
+    @Test
+    void searchStreamKeepsCallerEntitiesTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 0; i < 1001; i++) {
+            em.persist(new Member("member" + i, i, teamA));
+        }
+
+        long count = memberJpaRepository.searchStream(new MemberSearchCondition(), dto -> {
+        });
+
+        assertThat(count).isEqualTo(1001);
+        assertThat(em.contains(teamA)).isTrue();
+    }
+
+    @Test
+    void searchAllShapesTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        for (int i = 0; i < 10; i++) {
+            em.persist(new Member("member" + i, i * 10, i % 2 == 0 ? teamA : teamB));
+        }
+        em.persist(new Member("noTeam", 50));
+
+        // 16가지 조합 모두 Querydsl 버전과 결과가 같아야 한다.
+        for (int shape = 0; shape < MemberSearchQueries.SHAPE_COUNT; shape++) {
+            MemberSearchCondition condition = new MemberSearchCondition();
+            condition.setUsername((shape & MemberSearchQueries.USERNAME) != 0 ? "member4" : "");
+            condition.setTeamName((shape & MemberSearchQueries.TEAM_NAME) != 0 ? "teamA" : null);
+            condition.setAgeGoe((shape & MemberSearchQueries.AGE_GOE) != 0 ? 20 : null);
+            condition.setAgeLoe((shape & MemberSearchQueries.AGE_LOE) != 0 ? 60 : null);
+
+            assertThat(MemberSearchQueries.shapeOf(condition)).isEqualTo(shape);
+            assertThat(memberJpaRepository.search(condition))
+                    .usingRecursiveFieldByFieldElementComparator()
+                    .containsExactlyInAnyOrderElementsOf(memberJpaRepository.search_Querydsl(condition));
+        }
+    }
+}
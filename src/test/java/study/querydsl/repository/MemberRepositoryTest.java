@@ -4,11 +4,16 @@ import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
+import study.querydsl.repository.cache.MemberCountCache;
 
 import java.util.List;
 
@@ -25,6 +30,9 @@ class MemberRepositoryTest {
     @Autowired
     MemberRepository memberRepository;
 
+    @Autowired
+    MemberCountCache countCache;
+
     @Test
     void basicTest() {
         Member member = new Member("member1", 10);
@@ -66,4 +74,77 @@ class MemberRepositoryTest {
 
         assertThat(result).extracting("username").containsExactly("member4");
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchByCursorTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        for (int i = 0; i < 5; i++) {
+            em.persist(new Member("member" + i, i * 10, i % 2 == 0 ? teamA : teamB));
+        }
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+
+        Slice<MemberTeamDto> first = memberRepository.searchByCursor(condition, null, 2);
+        assertThat(first.getContent()).extracting("username").containsExactly("member0", "member2");
+        assertThat(first.hasNext()).isTrue();
+
+        Long lastMemberId = first.getContent().get(1).getMemberId();
+        Slice<MemberTeamDto> second = memberRepository.searchByCursor(condition, lastMemberId, 2);
+        assertThat(second.getContent()).extracting("username").containsExactly("member4");
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    /**
+     * 테스트 트랜잭션은 쓰기 트랜잭션이므로 카운트 캐시를 거치지 않고, 자기가 저장한 데이터가 바로 카운트에 보인다.
+     * (읽기 전용 트랜잭션의 캐시 동작은 MemberCountCacheTest)
+     */
+    @Test
+    void searchPageCountInWriteTransactionTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 0; i < 4; i++) {
+            em.persist(new Member("member" + i, i * 10, teamA));
+        }
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+        PageRequest pageRequest = PageRequest.of(0, 2);
+
+        long hit = countCache.hitCount();
+        long miss = countCache.missCount();
+        assertThat(memberRepository.searchPageComplex(condition, pageRequest).getTotalElements()).isEqualTo(4);
+        assertThat(memberRepository.searchPageComplex(condition, pageRequest).getTotalElements()).isEqualTo(4);
+        assertThat(countCache.hitCount()).isEqualTo(hit);
+        assertThat(countCache.missCount()).isEqualTo(miss);
+
+        em.persist(new Member("member4", 40, teamA));
+        assertThat(memberRepository.searchPageComplex(condition, pageRequest).getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    void searchPageDeferredJoinTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        for (int i = 0; i < 10; i++) {
+            em.persist(new Member("member" + i, i % 3 * 10, i % 2 == 0 ? teamA : teamB));
+        }
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(10);
+        PageRequest pageRequest = PageRequest.of(1, 2, Sort.by(Sort.Order.desc("teamName"), Sort.Order.asc("age")));
+
+        Page<MemberTeamDto> single = memberRepository.searchPageComplex(condition, pageRequest, PageQueryMode.SINGLE);
+        Page<MemberTeamDto> deferred = memberRepository.searchPageComplex(condition, pageRequest, PageQueryMode.DEFERRED_JOIN);
+
+        assertThat(deferred.getContent()).isEqualTo(single.getContent());
+        assertThat(deferred.getContent()).extracting("username").containsExactly("member5", "member4");
+        assertThat(deferred.getTotalElements()).isEqualTo(single.getTotalElements());
+    }
+}
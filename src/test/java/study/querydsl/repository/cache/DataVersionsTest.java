@@ -0,0 +1,102 @@
+package study.querydsl.repository.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import study.querydsl.datasource.RoutingDataSourceProperties;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberSearchKey;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.ChangeType;
+import study.querydsl.event.EntityChangedEvent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DataVersionsTest {
+
+    EtagProperties properties = new EtagProperties(true, Duration.ofSeconds(10));
+    MutableClock clock = new MutableClock();
+    DataVersions dataVersions = new DataVersions(properties, routing(false), clock);
+
+    @Test
+    void incrementChangedTableOnly() {
+        dataVersions.onEntityChanged(new EntityChangedEvent(Member.class, new Member("member1"), ChangeType.UPDATE));
+        dataVersions.afterTransaction(EntityChangedEvent.bulk(Team.class));
+
+        assertThat(dataVersions.version(Member.class)).isEqualTo(1);
+        assertThat(dataVersions.version(Team.class)).isEqualTo(1);
+        assertThatThrownBy(() -> dataVersions.version(String.class)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void etagChangesWithVersionAndCondition() {
+        MemberSearchCondition nullName = new MemberSearchCondition();
+        MemberSearchCondition blankName = new MemberSearchCondition();
+        blankName.setUsername(" ");
+        MemberSearchCondition teamA = new MemberSearchCondition();
+        teamA.setTeamName("teamA");
+
+        String etag = dataVersions.etag("v2", MemberSearchKey.of(nullName), PageRequest.of(0, 20));
+
+        assertThat(dataVersions.etag("v2", MemberSearchKey.of(blankName), PageRequest.of(0, 20))).isEqualTo(etag);
+        assertThat(dataVersions.etag("v2", MemberSearchKey.of(teamA), PageRequest.of(0, 20))).isNotEqualTo(etag);
+        assertThat(dataVersions.etag("v2", MemberSearchKey.of(nullName), PageRequest.of(1, 20))).isNotEqualTo(etag);
+
+        dataVersions.onEntityChanged(EntityChangedEvent.bulk(Team.class));
+
+        assertThat(dataVersions.etag("v2", MemberSearchKey.of(nullName), PageRequest.of(0, 20))).isNotEqualTo(etag);
+    }
+
+    @Test
+    void etagExpiresAfterMaxAge() {
+        String etag = dataVersions.etag("v1");
+
+        clock.advance(Duration.ofSeconds(10)); // 다른 서버에서 바뀐 데이터도 maxAge 뒤에는 다시 조회
+
+        assertThat(dataVersions.etag("v1")).isNotEqualTo(etag);
+    }
+
+    @Test
+    void disabledWithReplicaRouting() {
+        assertThat(dataVersions.isEtagEnabled()).isTrue();
+        assertThat(new DataVersions(properties, routing(true), clock).isEtagEnabled()).isFalse();
+        assertThat(new DataVersions(new EtagProperties(false, Duration.ofSeconds(10)), routing(false), clock).isEtagEnabled()).isFalse();
+    }
+
+    private static RoutingDataSourceProperties routing(boolean enabled) {
+        return new RoutingDataSourceProperties(enabled, RoutingDataSourceProperties.Balance.ROUND_ROBIN,
+                Duration.ofSeconds(10), List.of());
+    }
+
+    static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
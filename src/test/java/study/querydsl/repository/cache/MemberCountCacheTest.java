@@ -0,0 +1,55 @@
+package study.querydsl.repository.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.dto.MemberSearchCondition;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberCountCacheTest {
+
+    MemberCountCache countCache = new MemberCountCache(
+            new CountCacheProperties(true, Duration.ofMinutes(1), 100), new SimpleMeterRegistry());
+
+    MemberSearchCondition condition = new MemberSearchCondition();
+    AtomicInteger queryCount = new AtomicInteger();
+
+    @AfterEach
+    void after() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void cacheInReadOnlyTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        countCache.get(condition, this::count);
+        countCache.get(condition, this::count);
+
+        assertThat(queryCount.get()).isEqualTo(1);
+        assertThat(countCache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void bypassInWriteTransaction() {
+        countCache.get(condition, this::count); // 트랜잭션 밖에서 채운 값
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertThat(countCache.get(condition, this::count)).isEqualTo(2); // 캐시된 값(1)이 아니라 직접 카운트
+        assertThat(countCache.get(condition, this::count)).isEqualTo(3); // 쓰기 트랜잭션에서 센 값은 캐시하지 않는다.
+
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        assertThat(countCache.get(condition, this::count)).isEqualTo(1);
+    }
+
+    private long count() {
+        return queryCount.incrementAndGet();
+    }
+}
@@ -0,0 +1,96 @@
+package study.querydsl.repository.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.event.EntityChangedEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberSearchCacheTest {
+
+    MemberSearchCache searchCache = new MemberSearchCache(
+            new SearchCacheProperties(true, Duration.ofMinutes(1), 100, 2), new SimpleMeterRegistry());
+
+    AtomicInteger queryCount = new AtomicInteger();
+
+    @Test
+    void cacheByNormalizedCondition() {
+        MemberSearchCondition nullName = new MemberSearchCondition();
+        nullName.setTeamName("teamA");
+        MemberSearchCondition blankName = new MemberSearchCondition();
+        blankName.setTeamName("teamA");
+        blankName.setUsername(" ");
+
+        searchCache.get(nullName, () -> query(1));
+        searchCache.get(blankName, () -> query(1));
+
+        assertThat(queryCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidateOnMemberChange() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        searchCache.get(condition, () -> query(1));
+        searchCache.onEntityChanged(EntityChangedEvent.bulk(Member.class));
+        searchCache.get(condition, () -> query(1));
+
+        assertThat(queryCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    void skipLargeResult() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        searchCache.get(condition, () -> query(3)); // maxEntryRows(2) 초과
+        searchCache.get(condition, () -> query(3));
+
+        assertThat(queryCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    void callerChangesDoNotLeakIntoCache() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        searchCache.get(condition, () -> query(1)).get(0).setUsername("changed");
+        searchCache.get(condition, () -> query(1)).get(0).setTeamName("changed");
+
+        assertThat(searchCache.get(condition, () -> query(1)).get(0))
+                .extracting(MemberTeamDto::getUsername, MemberTeamDto::getTeamName)
+                .containsExactly("member0", "teamA");
+        assertThat(queryCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    void bypassInWriteTransaction() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        searchCache.get(condition, () -> query(1));
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            searchCache.get(condition, () -> query(2)); // 캐시를 읽지 않고
+            searchCache.get(condition, () -> query(2)); // 결과도 캐시하지 않는다.
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertThat(searchCache.get(condition, () -> query(1))).hasSize(1);
+        assertThat(queryCount.get()).isEqualTo(3);
+    }
+
+    private List<MemberTeamDto> query(int rows) {
+        queryCount.incrementAndGet();
+        return IntStream.range(0, rows)
+                .mapToObj(i -> new MemberTeamDto((long) i, "member" + i, i, 1L, "teamA"))
+                .toList();
+    }
+}
@@ -0,0 +1,143 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.metrics.StatementScope;
+import study.querydsl.repository.MemberRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QBulkJobCheckpoint.bulkJobCheckpoint;
+import static study.querydsl.entity.QMember.member;
+
+/**
+ * 청크마다 커밋되는 것을 확인해야 하므로 테스트 트랜잭션(@Transactional)을 쓰지 않고 직접 정리한다.
+ */
+@SpringBootTest
+class ChunkedBulkExecutorTest {
+
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    JPAQueryFactory queryFactory;
+    TransactionTemplate transactionTemplate;
+    List<String> jobNames = new ArrayList<>();
+
+    @BeforeEach
+    void before() {
+        queryFactory = new JPAQueryFactory(em);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        memberRepository.saveAll(IntStream.range(0, 10)
+                .mapToObj(i -> new Member("member" + i, i))
+                .toList());
+    }
+
+    @AfterEach
+    void after() {
+        memberRepository.deleteAllInBatch();
+        transactionTemplate.executeWithoutResult(status -> queryFactory
+                .delete(bulkJobCheckpoint)
+                .where(bulkJobCheckpoint.jobName.in(jobNames))
+                .execute());
+    }
+
+    @Test
+    void updateInChunks() {
+        long count = memberRepository.updateInChunks(jobName(), member.age.lt(8),
+                update -> update.set(member.age, member.age.add(100)), BulkChunkOptions.of(3));
+
+        assertThat(count).isEqualTo(8);
+        assertThat(memberRepository.findAll()).filteredOn(m -> m.getAge() >= 100).hasSize(8);
+    }
+
+    @Test
+    void clearCallerPersistenceContext() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Member loaded = queryFactory
+                    .selectFrom(member)
+                    .where(member.username.eq("member0"))
+                    .fetchOne();
+
+            memberRepository.updateInChunks(jobName(), member.age.lt(8),
+                    update -> update.set(member.age, member.age.add(100)), BulkChunkOptions.of(3));
+
+            assertThat(em.contains(loaded)).isFalse();
+            assertThat(em.find(Member.class, loaded.getId()).getAge()).isEqualTo(100); // 1차 캐시가 아니라 DB에서 다시 조회
+        });
+    }
+
+    @Test
+    void resumeFromCheckpoint() {
+        String jobName = jobName();
+        AtomicInteger chunks = new AtomicInteger();
+
+        // 두 번째 청크에서 실패 -> 첫 번째 청크(3건)만 커밋
+        assertThatThrownBy(() -> memberRepository.updateInChunks(jobName, null, update -> {
+            if (chunks.incrementAndGet() == 2) {
+                throw new IllegalStateException("fail");
+            }
+            update.set(member.age, member.age.add(100));
+        }, BulkChunkOptions.of(3))).isInstanceOf(IllegalStateException.class);
+
+        long resumed = memberRepository.updateInChunks(jobName, null,
+                update -> update.set(member.age, member.age.add(100)), BulkChunkOptions.of(3));
+
+        assertThat(resumed).isEqualTo(7);
+        assertThat(memberRepository.findAll()).allMatch(m -> m.getAge() >= 100 && m.getAge() < 200); // 한 번씩만 변경
+    }
+
+    @Test
+    void deleteInChunks() {
+        long count = memberRepository.deleteInChunks(jobName(), member.age.goe(5), BulkChunkOptions.of(2));
+
+        assertThat(count).isEqualTo(5);
+        assertThat(memberRepository.count()).isEqualTo(5);
+    }
+
+    /**
+     * 요청 안에서 실행해도 청크마다 반복되는 select를 요청 범위의 N+1로 세지 않는다. (repeat-threshold 10, fail-on-repeat)
+     */
+    @Test
+    void manyChunksInRequestScope() {
+        StatementScope.begin(); // StatementCountInterceptor가 여는 요청 범위
+        try {
+            long count = memberRepository.updateInChunks(jobName(), null,
+                    update -> update.set(member.age, member.age.add(100)), BulkChunkOptions.of(1)); // 11개 청크
+
+            assertThat(count).isEqualTo(10);
+        } finally {
+            StatementScope.end();
+        }
+    }
+
+    @Test
+    void invalidOptions() {
+        assertThatThrownBy(() -> BulkChunkOptions.of(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BulkChunkOptions(10, Duration.ofMillis(-1))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String jobName() {
+        String jobName = "test-" + UUID.randomUUID();
+        jobNames.add(jobName);
+        return jobName;
+    }
+}
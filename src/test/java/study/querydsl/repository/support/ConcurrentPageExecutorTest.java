@@ -0,0 +1,203 @@
+package study.querydsl.repository.support;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrentPageExecutorTest {
+
+    ConcurrentPageExecutor executor = new ConcurrentPageExecutor(
+            new ConcurrentPagingProperties(true, 1, Duration.ofMillis(200)), new NoOpTransactionManager(), null);
+
+    @AfterEach
+    void after() {
+        executor.destroy();
+    }
+
+    @Test
+    void countInReadOnlyTransactionOnOtherThread() {
+        AtomicReference<Thread> countThread = new AtomicReference<>();
+        AtomicBoolean readOnly = new AtomicBoolean();
+
+        Page<Integer> page = executor.getPage(() -> List.of(1, 2), PageRequest.of(0, 2), () -> {
+            countThread.set(Thread.currentThread());
+            readOnly.set(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            return 10;
+        });
+
+        assertThat(page.getTotalElements()).isEqualTo(10);
+        assertThat(countThread.get()).isNotSameAs(Thread.currentThread());
+        assertThat(readOnly).isTrue(); // 레플리카 라우팅
+    }
+
+    @Test
+    void skipCountWithoutWaiting() throws Exception {
+        CountDownLatch blockCount = new CountDownLatch(1);
+        CountDownLatch countFinished = new CountDownLatch(1);
+
+        // 첫 페이지가 pageSize보다 작으면 전체 개수 = content 크기 (카운트 결과를 기다리지 않는다.)
+        Page<Integer> page = executor.getPage(() -> List.of(1), PageRequest.of(0, 2), () -> {
+            try {
+                blockCount.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException("interrupted"); // 인터럽트하지 않아야 한다.
+            } finally {
+                countFinished.countDown();
+            }
+            return 10;
+        });
+
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        blockCount.countDown();
+        assertThat(countFinished.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void serialWhenSaturated() throws Exception {
+        CountDownLatch blockCount = new CountDownLatch(1);
+        executor.getPage(() -> List.of(1), PageRequest.of(0, 2), () -> {
+            try {
+                blockCount.await(); // 허용 수(1)를 카운트 쿼리가 끝날 때까지 잡고 있다.
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 1;
+        });
+
+        AtomicReference<Thread> countThread = new AtomicReference<>();
+        executor.getPage(() -> List.of(1, 2), PageRequest.of(0, 2), () -> {
+            countThread.set(Thread.currentThread());
+            return 10;
+        });
+        blockCount.countDown();
+
+        assertThat(countThread.get()).isSameAs(Thread.currentThread());
+    }
+
+    @Test
+    void serialInReadWriteTransaction() {
+        AtomicReference<Thread> countThread = new AtomicReference<>();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            executor.getPage(() -> List.of(1, 2), PageRequest.of(0, 2), () -> {
+                countThread.set(Thread.currentThread());
+                return 10;
+            });
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertThat(countThread.get()).isSameAs(Thread.currentThread()); // 커밋 전 데이터는 다른 커넥션에서 안 보인다.
+    }
+
+    @Test
+    void serialWhenCountTimesOut() throws Exception {
+        Thread caller = Thread.currentThread();
+        CountDownLatch blockCount = new CountDownLatch(1);
+        AtomicReference<Thread> countThread = new AtomicReference<>();
+
+        // 다른 스레드에서는 커넥션을 못 받는 상황처럼 멈춰 있다.
+        Page<Integer> page = executor.getPage(() -> List.of(1, 2), PageRequest.of(0, 2), () -> {
+            if (Thread.currentThread() != caller) {
+                try {
+                    blockCount.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException("interrupted"); // 인터럽트하지 않아야 한다.
+                }
+                return -1;
+            }
+            countThread.set(caller);
+            return 10;
+        });
+        blockCount.countDown();
+
+        assertThat(page.getTotalElements()).isEqualTo(10);
+        assertThat(countThread.get()).isSameAs(caller);
+    }
+
+    /**
+     * 커넥션 2개짜리 풀에 그보다 많은 요청을 동시에 보낸다.
+     * 요청 스레드가 트랜잭션 커넥션을 잡고 카운트 쿼리를 기다려도 풀이 멈추지 않아야 한다.
+     */
+    @Test
+    void smallPool() throws Exception {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:concurrent-page;DB_CLOSE_DELAY=-1");
+        dataSource.setMaximumPoolSize(2);
+        dataSource.setConnectionTimeout(5000);
+        ExecutorService requests = Executors.newFixedThreadPool(8);
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("create table item (id bigint primary key)");
+            jdbcTemplate.batchUpdate("insert into item (id) values (?)",
+                    IntStream.range(0, 10).mapToObj(i -> new Object[]{i}).toList());
+
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            ConcurrentPageExecutor pooled = new ConcurrentPageExecutor(
+                    new ConcurrentPagingProperties(true, 16, Duration.ofMillis(200)), transactionManager, dataSource);
+            TransactionTemplate readOnlyTx = new TransactionTemplate(transactionManager);
+            readOnlyTx.setReadOnly(true);
+
+            List<Future<Long>> pages = IntStream.range(0, 32)
+                    .mapToObj(i -> requests.submit(() -> readOnlyTx.execute(status -> pooled.getPage(
+                            () -> jdbcTemplate.queryForList("select id from item order by id limit 2", Long.class),
+                            PageRequest.of(0, 2),
+                            () -> jdbcTemplate.queryForObject("select count(*) from item", Long.class)
+                    ).getTotalElements())))
+                    .toList();
+
+            for (Future<Long> page : pages) {
+                assertThat(page.get(10, TimeUnit.SECONDS)).isEqualTo(10);
+            }
+            pooled.destroy();
+        } finally {
+            requests.shutdownNow();
+            dataSource.close();
+        }
+    }
+
+    /**
+     * 트랜잭션 동기화(읽기 전용 여부)만 확인하는 트랜잭션 매니저
+     */
+    static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
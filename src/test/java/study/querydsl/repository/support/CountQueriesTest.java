@@ -0,0 +1,74 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.Path;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.QMember;
+import study.querydsl.entity.Team;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+@SpringBootTest
+@Transactional
+class CountQueriesTest {
+
+    @Autowired
+    EntityManager em;
+
+    JPAQueryFactory queryFactory;
+
+    @BeforeEach
+    void before() {
+        queryFactory = new JPAQueryFactory(em);
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30)); // 팀 없음 (left join이므로 카운트에 포함)
+    }
+
+    @Test
+    void pruneUnreferencedJoin() {
+        JPAQuery<Long> count = CountQueries.count(queryFactory, member,
+                List.of(CountQueries.toOne(member.team, team)), member.age.goe(10), null);
+
+        assertThat(count.toString()).doesNotContain("join");
+        assertThat(count.fetchOne()).isEqualTo(3);
+    }
+
+    @Test
+    void keepReferencedJoin() {
+        JPAQuery<Long> count = CountQueries.count(queryFactory, member,
+                List.of(CountQueries.toOne(member.team, team)), team.name.eq("teamA"));
+
+        assertThat(count.toString()).contains("left join");
+        assertThat(count.fetchOne()).isEqualTo(2);
+    }
+
+    @Test
+    void collectRootsInSubQuery() {
+        QMember memberSub = new QMember("memberSub");
+        Set<Path<?>> roots = new HashSet<>();
+
+        CountQueries.collectRoots(member.age.eq(JPAExpressions
+                .select(memberSub.age.max())
+                .from(memberSub)
+                .where(memberSub.team.eq(team))), roots);
+
+        assertThat(roots).contains(member, memberSub, team);
+    }
+}
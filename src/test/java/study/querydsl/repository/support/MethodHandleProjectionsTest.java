@@ -0,0 +1,125 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.UserDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.QMember;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+@SpringBootTest
+@Transactional
+class MethodHandleProjectionsTest {
+
+    @Autowired
+    EntityManager em;
+
+    JPAQueryFactory queryFactory;
+
+    @BeforeEach
+    void before() {
+        queryFactory = new JPAQueryFactory(em);
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30));
+    }
+
+    @Test
+    void bean() {
+        List<MemberDto> expected = queryFactory.select(Projections.bean(MemberDto.class, member.username, member.age)).from(member).fetch();
+
+        List<MemberDto> result = queryFactory.select(MethodHandleProjections.bean(MemberDto.class, member.username, member.age)).from(member).fetch();
+
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void fieldsWithAlias() {
+        QMember memberSub = new QMember("memberSub");
+
+        List<UserDto> result = queryFactory
+                .select(MethodHandleProjections.fields(UserDto.class,
+                        member.username.as("name"),
+                        ExpressionUtils.as(JPAExpressions
+                                .select(memberSub.age.max())
+                                .from(memberSub), "age")))
+                .from(member)
+                .orderBy(member.username.asc())
+                .fetch();
+
+        assertThat(result).extracting("name").containsExactly("member1", "member2", "member3");
+        assertThat(result).extracting("age").containsOnly(30);
+    }
+
+    @Test
+    void unmatchedAliasIsSkipped() {
+        List<UserDto> expected = queryFactory.select(Projections.bean(UserDto.class, member.username, member.age)).from(member).fetch();
+
+        List<UserDto> result = queryFactory.select(MethodHandleProjections.bean(UserDto.class, member.username, member.age)).from(member).fetch();
+
+        assertThat(result).isEqualTo(expected);
+        assertThat(result).extracting("name").containsOnlyNulls(); // username != name
+    }
+
+    @Test
+    void constructor() {
+        List<MemberTeamDto> expected = queryFactory
+                .select(Projections.constructor(MemberTeamDto.class, member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .fetch();
+
+        List<MemberTeamDto> result = queryFactory
+                .select(MethodHandleProjections.constructor(MemberTeamDto.class, member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .fetch();
+
+        assertThat(result).isEqualTo(expected);
+    }
+
+    /**
+     * 기본 타입(int) 인자에 null이 오면 Projections.constructor처럼 0으로 만든다.
+     */
+    @Test
+    void constructorWithNullPrimitive() {
+        QMember memberSub = new QMember("memberSub");
+        JPQLQuery<Integer> maxAge = JPAExpressions
+                .select(memberSub.age.max())
+                .from(memberSub)
+                .where(memberSub.age.gt(100)); // 결과 없음 -> null
+
+        List<UserDto> expected = queryFactory.select(Projections.constructor(UserDto.class, member.username, maxAge)).from(member).fetch();
+
+        List<UserDto> result = queryFactory.select(MethodHandleProjections.constructor(UserDto.class, member.username, maxAge)).from(member).fetch();
+
+        assertThat(result).isEqualTo(expected);
+        assertThat(result).extracting("age").containsOnly(0);
+    }
+
+    @Test
+    void noMatchingConstructor() {
+        assertThatThrownBy(() -> MethodHandleProjections.constructor(UserDto.class, member.id))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,144 @@
+package study.querydsl.repository.support;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void coalesceConcurrentCalls() throws Exception {
+        SingleFlight singleFlight = singleFlight(Duration.ofSeconds(5));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+            leaderStarted.countDown();
+            return slowQuery();
+        }));
+        leaderStarted.await();
+        Future<String> follower = executor.submit(() -> singleFlight.execute("key", this::slowQuery));
+        awaitCoalescing();
+        release.countDown();
+
+        assertThat(leader.get()).isEqualTo("result1");
+        assertThat(follower.get()).isEqualTo("result1");
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(count("coalesced")).isEqualTo(1);
+    }
+
+    @Test
+    void copyForCoalescedCalls() throws Exception {
+        SingleFlight singleFlight = singleFlight(Duration.ofSeconds(5));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+
+        Future<List<String>> leader = executor.submit(() -> singleFlight.<List<String>>execute("key", () -> {
+            leaderStarted.countDown();
+            return new ArrayList<>(List.of(slowQuery()));
+        }, ArrayList::new));
+        leaderStarted.await();
+        Future<List<String>> follower = executor.submit(() -> singleFlight.<List<String>>execute("key",
+                () -> new ArrayList<>(List.of(slowQuery())), ArrayList::new));
+        awaitCoalescing();
+        release.countDown();
+
+        assertThat(follower.get()).isEqualTo(leader.get()).isNotSameAs(leader.get());
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void runAgainAfterCompletion() {
+        SingleFlight singleFlight = singleFlight(Duration.ofSeconds(5));
+        release.countDown();
+
+        singleFlight.execute("key", this::slowQuery);
+        singleFlight.execute("key", this::slowQuery);
+
+        assertThat(calls.get()).isEqualTo(2); // 끝난 결과는 남기지 않는다.
+    }
+
+    @Test
+    void runOwnCallAfterMaxWait() throws Exception {
+        SingleFlight singleFlight = singleFlight(Duration.ofMillis(50));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+
+        executor.submit(() -> singleFlight.execute("key", () -> {
+            leaderStarted.countDown();
+            return slowQuery();
+        }));
+        leaderStarted.await();
+
+        String result = singleFlight.execute("key", () -> "own");
+
+        assertThat(result).isEqualTo("own");
+        assertThat(count("timeout")).isEqualTo(1);
+    }
+
+    @Test
+    void shareLeaderFailure() throws Exception {
+        SingleFlight singleFlight = singleFlight(Duration.ofSeconds(5));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.<String>execute("key", () -> {
+            leaderStarted.countDown();
+            slowQuery();
+            throw new IllegalStateException("db down");
+        }));
+        leaderStarted.await();
+        Future<String> follower = executor.submit(() -> singleFlight.execute("key", this::slowQuery));
+        awaitCoalescing();
+        release.countDown();
+
+        assertThatThrownBy(leader::get).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(follower::get).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    private SingleFlight singleFlight(Duration maxWait) {
+        return new SingleFlight(new SingleFlightProperties(true, maxWait), meterRegistry);
+    }
+
+    private String slowQuery() {
+        int call = calls.incrementAndGet();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "result" + call;
+    }
+
+    /**
+     * follower가 leader 결과를 기다리기 시작할 시간
+     */
+    private void awaitCoalescing() throws InterruptedException {
+        Thread.sleep(100);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("repository.singleflight.calls").tag("result", result).counter().count();
+    }
+}
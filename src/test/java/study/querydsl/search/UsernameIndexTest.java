@@ -0,0 +1,138 @@
+package study.querydsl.search;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.ChangeType;
+import study.querydsl.event.EntityChangedEvent;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "querydsl.username-index.max-candidates=2")
+@Transactional
+class UsernameIndexTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    UsernameIndex usernameIndex;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    Member alice;
+    Member bob;
+
+    @BeforeEach
+    void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        alice = new Member("Alice", 10, teamA);
+        bob = new Member("bob", 20, teamA);
+        em.persist(alice);
+        em.persist(bob);
+        em.persist(new Member("alicia", 30, teamB));
+        em.persist(new Member("malik", 40, teamB));
+        em.flush();
+
+        usernameIndex.rebuild();
+    }
+
+    @Test
+    void findByPrefix() {
+        assertThat(usernames(usernameIndex.findByPrefix("ali", 10))).containsExactly("Alice", "alicia");
+        assertThat(usernameIndex.findByPrefix("ali", 1)).hasSize(1);
+        assertThat(usernameIndex.findByPrefix("zed", 10)).isEmpty();
+    }
+
+    @Test
+    void findByContains() {
+        assertThat(usernames(usernameIndex.findByContains("LI", 10))).containsExactly("Alice", "alicia", "malik");
+        assertThat(usernames(usernameIndex.findByContains("lik", 10))).containsExactly("malik");
+        assertThat(usernameIndex.findByContains("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    void applyCommittedChanges() {
+        bob.setUsername("Alibaba");
+        usernameIndex.apply(new EntityChangedEvent(Member.class, bob, ChangeType.UPDATE));
+        usernameIndex.apply(new EntityChangedEvent(Member.class, alice, ChangeType.REMOVE));
+
+        assertThat(usernameIndex.findByPrefix("ali", 10)).containsExactly(bob.getId(), findId("alicia"));
+        assertThat(usernameIndex.findByPrefix("bob", 10)).isEmpty();
+    }
+
+    @Test
+    void searchByUsernameFragment() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsernameContains("li");
+        condition.setTeamName("teamB");
+
+        List<MemberTeamDto> result = memberRepository.searchByUsernameFragment(condition, 10);
+
+        assertThat(result).extracting("username").containsExactly("alicia", "malik");
+    }
+
+    /**
+     * 다른 조건이 있을 때 후보(maxCandidates=2)가 잘리면 잘린 뒤쪽의 회원도 찾아야 한다.
+     */
+    @Test
+    void searchByUsernameFragmentBeyondCandidates() {
+        em.persist(new Member("alien", 50, null));
+        em.flush();
+        usernameIndex.rebuild();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsernamePrefix("ali"); // 인덱스 순서 : alice, alicia, alien
+        condition.setAgeGoe(50);
+
+        List<MemberTeamDto> result = memberRepository.searchByUsernameFragment(condition, 1);
+
+        assertThat(result).extracting("username").containsExactly("alien");
+    }
+
+    /**
+     * 인덱스로 조회하든 like로 조회하든 대소문자를 무시한 username 순
+     */
+    @Test
+    void searchByUsernameFragmentOrder() {
+        em.persist(new Member("Malina", 50, null));
+        em.flush();
+        usernameIndex.rebuild();
+
+        MemberSearchCondition indexed = new MemberSearchCondition();
+        indexed.setUsernameContains("li");
+        MemberSearchCondition fallback = new MemberSearchCondition(); // 다른 조건이 있고 후보가 잘려서 like 조회
+        fallback.setUsernameContains("li");
+        fallback.setAgeGoe(0);
+
+        assertThat(memberRepository.searchByUsernameFragment(indexed, 2))
+                .extracting("username").containsExactly("Alice", "alicia");
+        assertThat(memberRepository.searchByUsernameFragment(fallback, 2))
+                .extracting("username").containsExactly("Alice", "alicia"); // username 순이면 Alice, Malina
+    }
+
+    private List<String> usernames(List<Long> ids) {
+        return ids.stream().map(id -> em.find(Member.class, id).getUsername()).toList();
+    }
+
+    private Long findId(String username) {
+        return em.createQuery("select m.id from Member m where m.username = :username", Long.class)
+                .setParameter("username", username)
+                .getSingleResult();
+    }
+}
@@ -0,0 +1,48 @@
+package study.querydsl.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberJsonHttpMessageConverterTest {
+
+    MemberJsonHttpMessageConverter converter = new MemberJsonHttpMessageConverter();
+
+    @Test
+    void writeSameAsJackson() throws Exception {
+        List<MemberTeamDto> members = List.of(new MemberTeamDto(1L, "member1", 10, 1L, "teamA"));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(members, type("memberTeams"), MediaType.APPLICATION_JSON, output);
+
+        assertThat(output.getBodyAsString(StandardCharsets.UTF_8)).isEqualTo(new ObjectMapper().writeValueAsString(members));
+        assertThat(output.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void onlyMemberLists() throws Exception {
+        assertThat(converter.canWrite(type("memberTeams"), List.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(type("memberTeams"), List.class, MediaType.APPLICATION_XML)).isFalse();
+        assertThat(converter.canWrite(type("strings"), List.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(List.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(type("memberTeams"), null, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    private static Type type(String method) throws NoSuchMethodException {
+        return Returns.class.getDeclaredMethod(method).getGenericReturnType();
+    }
+
+    interface Returns {
+        List<MemberTeamDto> memberTeams();
+
+        List<String> strings();
+    }
+}
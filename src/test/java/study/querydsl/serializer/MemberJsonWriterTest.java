@@ -0,0 +1,84 @@
+package study.querydsl.serializer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberJsonWriterTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void sameAsJackson() throws Exception {
+        List<MemberTeamDto> members = List.of(
+                new MemberTeamDto(1L, "member1", 10, 1L, "teamA"),
+                new MemberTeamDto(2L, null, 0, null, null),
+                new MemberTeamDto(Long.MIN_VALUE, "\"quote\" \\ \n\t\u0001", -1, Long.MAX_VALUE, "/slash"),
+                new MemberTeamDto(3L, "회원 😀 é", Integer.MAX_VALUE, 0L, "팀")
+        );
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MemberJsonWriter writer = new MemberJsonWriter(out);
+        writer.writeMemberTeamArray(members);
+        writer.flush();
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(members));
+    }
+
+    @Test
+    void memberDto() throws Exception {
+        List<MemberDto> members = List.of(new MemberDto("member1", 10), new MemberDto(null, 20));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MemberJsonWriter writer = new MemberJsonWriter(out);
+        writer.writeMemberArray(members);
+        writer.flush();
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(members));
+    }
+
+    @Test
+    void largerThanBuffer() throws Exception {
+        List<MemberTeamDto> members = new ArrayList<>();
+        IntStream.range(0, 2000).forEach(i -> members.add(new MemberTeamDto((long) i, "member" + i, i, 1L, "teamA")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MemberJsonWriter writer = new MemberJsonWriter(out);
+        writer.writeMemberTeamArray(members);
+        writer.flush();
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(members));
+    }
+
+    @Test
+    void escapeUnpairedSurrogate() throws Exception {
+        List<MemberTeamDto> members = List.of(new MemberTeamDto(1L, "a\uD800b", 10, null, "\uDC00😀\uD83D"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MemberJsonWriter writer = new MemberJsonWriter(out);
+        writer.writeMemberTeamArray(members);
+        writer.flush();
+
+        // 올바른 UTF-8이어야 하고, 읽으면 원래 문자열이 나와야 한다.
+        String json = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .decode(ByteBuffer.wrap(out.toByteArray()))
+                .toString();
+        assertThat(json).contains("\"a\\uD800b\"", "\"\\uDC00😀\\uD83D\"");
+        JsonNode read = objectMapper.readTree(json).get(0);
+        assertThat(read.get("username").asText()).isEqualTo("a\uD800b");
+        assertThat(read.get("teamName").asText()).isEqualTo("\uDC00😀\uD83D");
+    }
+}
@@ -0,0 +1,128 @@
+package study.querydsl.snapshot;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.event.ChangeType;
+import study.querydsl.event.EntityChangedEvent;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QTeam.team;
+
+@SpringBootTest
+@Transactional
+class MemberSnapshotIndexTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberSnapshotIndex snapshotIndex;
+
+    Member member1;
+    Team teamA;
+
+    @BeforeEach
+    void before() {
+        teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        member1 = new Member("member1", 10, teamA);
+        em.persist(member1);
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.persist(new Member("member5", 40));
+        em.flush();
+
+        snapshotIndex.rebuild();
+    }
+
+    @Test
+    void sameResultAsDatabase() {
+        assertSameResult(condition(null, null, null, null));
+        assertSameResult(condition("member1", null, null, null));
+        assertSameResult(condition("unknown", null, null, null));
+        assertSameResult(condition(null, "teamB", null, null));
+        assertSameResult(condition(null, null, 20, 40));
+        assertSameResult(condition(null, null, 40, 20));
+        assertSameResult(condition(null, "teamA", 15, null));
+        assertSameResult(condition("member4", "teamB", null, 40));
+    }
+
+    @Test
+    void applyCommittedChanges() {
+        member1.setAge(35);
+        Member member6 = new Member("member6", 35, teamA);
+        em.persist(member6);
+        em.flush();
+
+        snapshotIndex.apply(new EntityChangedEvent(Member.class, member1, ChangeType.UPDATE));
+        snapshotIndex.apply(new EntityChangedEvent(Member.class, member6, ChangeType.PERSIST));
+        teamA.setName("teamC");
+        snapshotIndex.apply(new EntityChangedEvent(Team.class, teamA, ChangeType.UPDATE));
+
+        List<MemberTeamDto> result = snapshotIndex.search(condition(null, "teamC", 35, 35));
+
+        assertThat(result).extracting("username").containsExactly("member1", "member6");
+        assertThat(snapshotIndex.search(condition(null, "teamA", null, null))).isEmpty();
+    }
+
+    @Test
+    void applyRemove() {
+        snapshotIndex.apply(new EntityChangedEvent(Member.class, member1, ChangeType.REMOVE));
+
+        assertThat(snapshotIndex.search(condition("member1", null, null, null))).isEmpty();
+    }
+
+    @Test
+    void purgeRemovedTeams() {
+        Team teamC = new Team("teamC");
+        em.persist(teamC);
+        em.flush();
+        snapshotIndex.rebuild();
+        assertThat(snapshotIndex.hasTeam(teamC.getId())).isTrue();
+
+        new JPAQueryFactory(em).delete(team).where(team.id.eq(teamC.getId())).execute(); // 벌크 삭제 (엔티티 이벤트 없음)
+        snapshotIndex.rebuild();
+        assertThat(snapshotIndex.hasTeam(teamC.getId())).isFalse();
+
+        snapshotIndex.apply(new EntityChangedEvent(Team.class, teamA, ChangeType.REMOVE));
+        assertThat(snapshotIndex.hasTeam(teamA.getId())).isFalse();
+        assertThat(snapshotIndex.search(condition(null, "teamA", null, null))).isEmpty();
+    }
+
+    private void assertSameResult(MemberSearchCondition condition) {
+        List<MemberTeamDto> expected = memberRepository.search(condition).stream()
+                .sorted(Comparator.comparing(MemberTeamDto::getMemberId))
+                .toList();
+
+        assertThat(snapshotIndex.search(condition)).usingRecursiveFieldByFieldElementComparator().isEqualTo(expected);
+    }
+
+    private MemberSearchCondition condition(String username, String teamName, Integer ageGoe, Integer ageLoe) {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername(username);
+        condition.setTeamName(teamName);
+        condition.setAgeGoe(ageGoe);
+        condition.setAgeLoe(ageLoe);
+        return condition;
+    }
+}
@@ -0,0 +1,106 @@
+package study.querydsl.stats;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.TeamStatsDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@Transactional
+@RecordApplicationEvents
+class TeamStatsStoreTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ApplicationEvents events;
+
+    TeamStatsStore store;
+
+    Team teamA;
+    Team teamB;
+    Member member1;
+    Member member3;
+    Member member4;
+
+    @BeforeEach
+    void before() {
+        // 주기 재집계가 돌지 않도록 스프링 빈 대신 직접 생성 (start() 호출 x)
+        store = new TeamStatsStore(new TeamStatsProperties(true, Duration.ofHours(1)), em, transactionManager);
+
+        teamA = new Team("teamA");
+        teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        member1 = new Member("member1", 10, teamA);
+        member3 = new Member("member3", 30, teamB);
+        member4 = new Member("member4", 40, teamB);
+        em.persist(member1);
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(member3);
+        em.persist(member4);
+        em.persist(new Member("member5", 50));
+        em.flush();
+
+        store.reconcile();
+    }
+
+    @Test
+    void reconcileMatchesGroupBy() {
+        assertStatsMatchDatabase();
+        assertThat(store.findAll()).extracting(TeamStatsDto::getTeamName, TeamStatsDto::getCount, TeamStatsDto::getAvg)
+                .containsExactly(
+                        tuple("teamA", 2L, 15.0),
+                        tuple("teamB", 2L, 35.0));
+    }
+
+    @Test
+    void applyEntityChanges() {
+        events.clear();
+
+        member1.setAge(40); // 나이 변경
+        member3.changeTeam(teamA); // 팀 변경
+        em.remove(member4); // 삭제
+        em.persist(new Member("member6", 25, teamB)); // 저장
+        em.flush();
+
+        events.stream(MemberAgeChangedEvent.class).forEach(store::apply);
+
+        assertStatsMatchDatabase();
+        assertThat(store.reconcile()).isZero();
+    }
+
+    @Test
+    void ignoreUsernameChange() {
+        events.clear();
+
+        member1.setUsername("renamed");
+        em.flush();
+
+        assertThat(events.stream(MemberAgeChangedEvent.class)).isEmpty();
+    }
+
+    private void assertStatsMatchDatabase() {
+        List<TeamStatsDto> expected = store.aggregateFromDatabase();
+        assertThat(store.findAll()).usingRecursiveFieldByFieldElementComparator().isEqualTo(expected);
+    }
+}